@@ -0,0 +1,167 @@
+package com.example.studentattendance.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+import com.example.studentattendance.repositories.UserRepository;
+import com.example.studentattendance.security.AuthenticatedUser;
+import com.example.studentattendance.security.JwtUtil;
+import com.example.studentattendance.services.AttendanceBenchmarkData;
+
+/**
+ * Burst of concurrent HTTP requests against the running application on H2, with Tomcat on its
+ * default platform pool (200 threads) or on one virtual thread per request
+ * ({@code spring.threads.virtual.enabled}). The Hikari pool is capped at {@code poolSize}
+ * and open-in-view is off, as in prod.
+ * {@code mark} POSTs /attendance/mark for a different student and class per request (lookups,
+ * insert, rollup and outbox writes), i.e. many teachers marking at once, on a fresh day each
+ * burst; {@code overview} GETs
+ * /dashboard/overview. Requests authenticate with a real admin JWT, and a burst fails if any
+ * response is not 2xx.
+ *
+ * The virtual mode needs a Java 21+ runtime; on Java 17 run with {@code -p mode=platform}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class RequestExecutionBenchmark {
+
+    @Param({ "platform", "virtual" })
+    private String mode;
+
+    @Param({ "mark", "overview" })
+    private String endpoint;
+
+    @Param({ "500" })
+    private int requests;
+
+    @Param({ "20" })
+    private int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private String baseUrl;
+    private String token;
+    private List<User> students;
+    private List<Class> classes;
+    private LocalDate nextDate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            // Spring Boot silently keeps platform threads below Java 21, which would mislabel the result
+            throw new IllegalStateException("mode=virtual needs a Java 21+ runtime");
+        }
+        context = AttendanceBenchmarkData.startContext("requests-" + mode + "-" + endpoint,
+                "spring.threads.virtual.enabled=" + virtual,
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                // As in prod, so requests only hold a connection inside a transaction
+                "spring.jpa.open-in-view=false",
+                "app.realtime.coalesce-ms=3600000");
+        baseUrl = "http://localhost:"
+                + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api";
+
+        students = AttendanceBenchmarkData.seedStudents(context, requests);
+        classes = AttendanceBenchmarkData.seedClasses(context, requests);
+        token = context.getBean(JwtUtil.class).generateToken(AuthenticatedUser.from(seedAdmin()));
+        nextDate = LocalDate.now();
+
+        // The client side must not be the bottleneck: async sends on their own pool
+        clientExecutor = Executors.newFixedThreadPool(8);
+        client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (context != null) {
+            context.close();
+        }
+        if (clientExecutor != null) {
+            clientExecutor.shutdown();
+            clientExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    // Time until every request of the burst has completed
+    @Benchmark
+    public int burst() {
+        LocalDate date = nextDate;
+        nextDate = nextDate.minusDays(1);
+
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            responses.add(client.sendAsync(request(i, date), HttpResponse.BodyHandlers.discarding()));
+        }
+        int completed = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            int status = response.join().statusCode();
+            if (status / 100 != 2) {
+                throw new IllegalStateException(endpoint + " returned " + status);
+            }
+            completed++;
+        }
+        return completed;
+    }
+
+    private HttpRequest request(int i, LocalDate date) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60));
+        if ("mark".equals(endpoint)) {
+            String body = "{\"studentId\":" + students.get(i).getId() + ",\"classId\":" + classes.get(i).getId()
+                    + ",\"date\":\"" + date + "\",\"status\":\"PRESENT\",\"timeIn\":\"08:00\","
+                    + "\"markedBy\":\"bench\"}";
+            return builder.uri(URI.create(baseUrl + "/attendance/mark"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        return builder.uri(URI.create(baseUrl + "/dashboard/overview")).GET().build();
+    }
+
+    private User seedAdmin() {
+        User admin = new User("bench-admin", "bench-admin@school.com", "not-a-hash", "Bench", "Admin",
+                User.UserRole.ADMIN);
+        admin.setActive(true);
+        admin.setCreatedAt(LocalDateTime.now());
+        admin.setUpdatedAt(LocalDateTime.now());
+        return context.getBean(UserRepository.class).save(admin);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.studentattendance.controllers;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+
+/**
+ * Entity-to-response mapping for one page of attendance rows, with associations already
+ * loaded (as the fetch-join queries leave them).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttendanceResponseMappingBenchmark {
+
+    @Param({ "100", "500" })
+    private int pageSize;
+
+    private AttendanceController controller;
+    private MethodHandle convert;
+    private List<Attendance> page;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        controller = new AttendanceController();
+        Method method = AttendanceController.class.getDeclaredMethod("convertToAttendanceResponse", Attendance.class);
+        method.setAccessible(true);
+        convert = MethodHandles.lookup().unreflect(method);
+
+        User teacher = new User("teacher", "teacher@school.com", "x", "John", "Smith", User.UserRole.TEACHER);
+        Class classObj = new Class();
+        classObj.setId(1L);
+        classObj.setClassName("Mathematics 101");
+        classObj.setTeacher(teacher);
+
+        page = new ArrayList<>(pageSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < pageSize; i++) {
+            User student = new User("student" + i, "student" + i + "@school.com", "x", "Student", "No. " + i,
+                    User.UserRole.STUDENT);
+            student.setId((long) i + 100);
+
+            Attendance attendance = new Attendance();
+            attendance.setId((long) i + 1);
+            attendance.setStudent(student);
+            attendance.setClassObj(classObj);
+            attendance.setDate(LocalDate.now().minusDays(i % 30));
+            attendance.setStatus(i % 5 == 0 ? Attendance.AttendanceStatus.LATE : Attendance.AttendanceStatus.PRESENT);
+            attendance.setTimeIn(LocalTime.of(8, i % 60));
+            attendance.setTimeOut(LocalTime.of(15, 30));
+            attendance.setMarkedBy("teacher");
+            attendance.setCreatedAt(now);
+            attendance.setUpdatedAt(now);
+            page.add(attendance);
+        }
+    }
+
+    @Benchmark
+    public void convertPage(Blackhole blackhole) throws Throwable {
+        for (Attendance attendance : page) {
+            blackhole.consume(convert.invoke(controller, attendance));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.studentattendance.dto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.studentattendance.models.Attendance;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * A 5,000-row attendance list (one class over a term) written as JSON, CBOR and Smile,
+ * each with and without gzip as the server would compress it. The encoded size of every
+ * format is printed once per fork, so the run log carries payload size next to the
+ * serialization times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttendanceListFormatBenchmark {
+
+    private static final int ROWS = 5_000;
+    private static final int STUDENTS = 50;
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    @Param({ "false", "true" })
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<AttendanceDto.AttendanceResponse> rows;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same builder as PayloadSerializationBenchmark, swapping in the binary factory
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("cbor".equals(format)) {
+            builder.factory(new CBORFactory());
+        } else if ("smile".equals(format)) {
+            builder.factory(new SmileFactory());
+        }
+        objectMapper = builder.build();
+
+        rows = new ArrayList<>(ROWS);
+        LocalDate start = LocalDate.now().minusDays(ROWS / STUDENTS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            AttendanceDto.AttendanceResponse row = new AttendanceDto.AttendanceResponse();
+            row.setId((long) i + 1);
+            row.setStudentId((long) (i % STUDENTS) + 100);
+            row.setStudentName("Student No. " + (i % STUDENTS));
+            row.setClassId(1L);
+            row.setClassName("Mathematics 101");
+            row.setDate(start.plusDays(i / STUDENTS));
+            row.setStatus(i % 7 == 0 ? Attendance.AttendanceStatus.ABSENT
+                    : i % 5 == 0 ? Attendance.AttendanceStatus.LATE : Attendance.AttendanceStatus.PRESENT);
+            row.setTimeIn(String.format("08:%02d", i % 60));
+            row.setTimeOut("15:30");
+            row.setMarkedBy("teacher");
+            row.setCreatedAt(now);
+            row.setUpdatedAt(now);
+            rows.add(row);
+        }
+
+        System.out.printf("%n%s%s payload: %,d bytes for %,d rows%n", format, gzip ? "+gzip" : "",
+                serialize().length, ROWS);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer, 8192) : buffer) {
+            objectMapper.writeValue(out, rows);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.studentattendance.dto;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+import com.example.studentattendance.services.ColumnarAttendanceEncoder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Dense class-range page (every student of one class on consecutive days) as the
+ * row-per-record JSON list versus the columnar shape: server-side encode + write, and
+ * client-side parse of the JSON text. Payload sizes are printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarAttendanceBenchmark {
+
+    private static final int STUDENTS = 40;
+    private static final TypeReference<List<AttendanceDto.AttendanceResponse>> ROW_LIST = new TypeReference<>() {
+    };
+
+    @Param({ "500", "5000" })
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Attendance> page;
+    private List<AttendanceDto.AttendanceResponse> rowResponses;
+    private byte[] rowJson;
+    private byte[] columnarJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User teacher = new User("teacher", "teacher@school.com", "x", "John", "Smith", User.UserRole.TEACHER);
+        Class classObj = new Class();
+        classObj.setId(1L);
+        classObj.setClassName("Mathematics 101");
+        classObj.setTeacher(teacher);
+        List<User> students = new ArrayList<>(STUDENTS);
+        for (int s = 0; s < STUDENTS; s++) {
+            User student = new User("student" + s, "student" + s + "@school.com", "x", "Student", "No. " + s,
+                    User.UserRole.STUDENT);
+            student.setId((long) s + 100);
+            students.add(student);
+        }
+
+        page = new ArrayList<>(rows);
+        rowResponses = new ArrayList<>(rows);
+        LocalDate start = LocalDate.now().minusDays(rows / STUDENTS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            Attendance attendance = new Attendance();
+            attendance.setId((long) i + 1);
+            attendance.setStudent(students.get(i % STUDENTS));
+            attendance.setClassObj(classObj);
+            attendance.setDate(start.plusDays(i / STUDENTS));
+            attendance.setStatus(i % 7 == 0 ? Attendance.AttendanceStatus.ABSENT : Attendance.AttendanceStatus.PRESENT);
+            attendance.setTimeIn(LocalTime.of(8, i % 60));
+            attendance.setTimeOut(LocalTime.of(15, 30));
+            attendance.setMarkedBy("teacher");
+            attendance.setCreatedAt(now.plusSeconds(i));
+            attendance.setUpdatedAt(now.plusSeconds(i));
+            page.add(attendance);
+            rowResponses.add(toRow(attendance));
+        }
+
+        rowJson = objectMapper.writeValueAsBytes(rowResponses);
+        columnarJson = objectMapper.writeValueAsBytes(ColumnarAttendanceEncoder.encode(page));
+        System.out.printf("%n%,d rows: row JSON %,d bytes, columnar JSON %,d bytes%n", rows, rowJson.length,
+                columnarJson.length);
+    }
+
+    @Benchmark
+    public byte[] writeRows() throws IOException {
+        return objectMapper.writeValueAsBytes(rowResponses);
+    }
+
+    @Benchmark
+    public byte[] encodeAndWriteColumnar() throws IOException {
+        return objectMapper.writeValueAsBytes(ColumnarAttendanceEncoder.encode(page));
+    }
+
+    @Benchmark
+    public List<AttendanceDto.AttendanceResponse> parseRows() throws IOException {
+        return objectMapper.readValue(rowJson, ROW_LIST);
+    }
+
+    @Benchmark
+    public AttendanceDto.ColumnarAttendanceResponse parseColumnar() throws IOException {
+        return objectMapper.readValue(columnarJson, AttendanceDto.ColumnarAttendanceResponse.class);
+    }
+
+    // Same mapping as AttendanceController.convertToAttendanceResponse
+    private static AttendanceDto.AttendanceResponse toRow(Attendance attendance) {
+        AttendanceDto.AttendanceResponse response = new AttendanceDto.AttendanceResponse();
+        response.setId(attendance.getId());
+        response.setStudentId(attendance.getStudent().getId());
+        response.setStudentName(attendance.getStudent().getFirstName() + " " + attendance.getStudent().getLastName());
+        response.setClassId(attendance.getClassObj().getId());
+        response.setClassName(attendance.getClassObj().getClassName());
+        response.setDate(attendance.getDate());
+        response.setStatus(attendance.getStatus());
+        response.setTimeIn(attendance.getTimeIn().toString());
+        response.setTimeOut(attendance.getTimeOut().toString());
+        response.setMarkedBy(attendance.getMarkedBy());
+        response.setCreatedAt(attendance.getCreatedAt());
+        response.setUpdatedAt(attendance.getUpdatedAt());
+        return response;
+    }
+}
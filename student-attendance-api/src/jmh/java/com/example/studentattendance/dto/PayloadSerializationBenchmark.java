@@ -0,0 +1,132 @@
+package com.example.studentattendance.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of typical report and dashboard payloads, using an ObjectMapper
+ * configured the way Spring Boot configures the one used by the message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ReportsDto.AttendanceSummaryReport summaryReport;
+    private List<ReportsDto.DailyAttendanceReport> dailyReport;
+    private DashboardDto.DashboardData dashboard;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDate today = LocalDate.now();
+
+        // One year of daily totals across 30 classes
+        summaryReport = new ReportsDto.AttendanceSummaryReport();
+        summaryReport.setStartDate(today.minusDays(365));
+        summaryReport.setEndDate(today);
+        summaryReport.setTotalRecords(219_000);
+        summaryReport.setPresentCount(175_000);
+        summaryReport.setAbsentCount(30_000);
+        summaryReport.setLateCount(14_000);
+        summaryReport.setAverageAttendance(79.9);
+        Map<String, Integer> byClass = new LinkedHashMap<>();
+        for (int i = 0; i < 30; i++) {
+            byClass.put("Class " + i, 7_300);
+        }
+        Map<String, Integer> byDate = new LinkedHashMap<>();
+        for (int i = 0; i < 365; i++) {
+            byDate.put(today.minusDays(i).toString(), 600);
+        }
+        summaryReport.setAttendanceByClass(byClass);
+        summaryReport.setAttendanceByDate(byDate);
+
+        // A month of daily reports, 30 classes each
+        dailyReport = new ArrayList<>();
+        for (int d = 0; d < 30; d++) {
+            ReportsDto.DailyAttendanceReport day = new ReportsDto.DailyAttendanceReport();
+            day.setDate(today.minusDays(d));
+            day.setTotalStudents(600);
+            day.setPresentCount(480);
+            day.setAbsentCount(80);
+            day.setLateCount(40);
+            day.setAttendancePercentage(80.0);
+            List<ReportsDto.DailyClassAttendance> classAttendances = new ArrayList<>();
+            for (int c = 0; c < 30; c++) {
+                ReportsDto.DailyClassAttendance classAttendance = new ReportsDto.DailyClassAttendance();
+                classAttendance.setClassId((long) c);
+                classAttendance.setClassName("Class " + c);
+                classAttendance.setTeacherName("Teacher " + c % 10);
+                classAttendance.setTotalStudents(20);
+                classAttendance.setPresentCount(16);
+                classAttendance.setAbsentCount(3);
+                classAttendance.setLateCount(1);
+                classAttendance.setAttendancePercentage(80.0);
+                classAttendances.add(classAttendance);
+            }
+            day.setClassAttendances(classAttendances);
+            dailyReport.add(day);
+        }
+
+        dashboard = new DashboardDto.DashboardData();
+        dashboard.setTotalClasses(30);
+        dashboard.setTotalStudents(600);
+        dashboard.setTodayAttendance(560);
+        dashboard.setAverageAttendance(81.2);
+        List<DashboardDto.RecentActivity> activities = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            DashboardDto.RecentActivity activity = new DashboardDto.RecentActivity();
+            activity.setType("ATTENDANCE");
+            activity.setDescription("Marked attendance for Class " + i);
+            activity.setUserId("teacher" + i);
+            activity.setUserName("Teacher " + i);
+            activity.setTimestamp(LocalDateTime.now().toString());
+            activities.add(activity);
+        }
+        dashboard.setRecentActivities(activities);
+        DashboardDto.QuickStats quickStats = new DashboardDto.QuickStats();
+        quickStats.setPresentToday(480);
+        quickStats.setAbsentToday(80);
+        quickStats.setLateToday(40);
+        quickStats.setClassesToday(30);
+        dashboard.setQuickStats(quickStats);
+    }
+
+    @Benchmark
+    public byte[] summaryReport() throws Exception {
+        return objectMapper.writeValueAsBytes(summaryReport);
+    }
+
+    @Benchmark
+    public byte[] dailyReport() throws Exception {
+        return objectMapper.writeValueAsBytes(dailyReport);
+    }
+
+    @Benchmark
+    public byte[] dashboard() throws Exception {
+        return objectMapper.writeValueAsBytes(dashboard);
+    }
+}
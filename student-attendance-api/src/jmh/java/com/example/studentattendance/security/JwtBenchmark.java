@@ -0,0 +1,97 @@
+package com.example.studentattendance.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.studentattendance.models.User;
+import com.example.studentattendance.services.UserService;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token create/parse/validate and the authentication filter hot path. The filter runs
+ * against a user service that always hits, i.e. the steady state with a warm principal cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private AuthenticatedUser principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-key-that-is-long-enough-for-hs256-signing");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 604_800_000L);
+        jwtUtil.init();
+
+        User user = new User("bench", "bench@school.com", "$2a$10$benchmarkhashbenchmarkhashbenchmarkhashbench",
+                "Bench", "User", User.UserRole.TEACHER);
+        user.setId(42L);
+        user.setActive(true);
+        principal = AuthenticatedUser.from(user);
+        token = jwtUtil.generateToken(principal);
+
+        AuthenticatedUser cached = principal.withoutPassword();
+        UserService userService = new UserService() {
+            @Override
+            public AuthenticatedUser loadAuthenticatedUser(String username) {
+                return cached;
+            }
+        };
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userService", userService);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public void filterHotPath(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/attendance/class/1/today");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.studentattendance.services;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.studentattendance.StudentAttendanceApplication;
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+import com.example.studentattendance.repositories.ClassRepository;
+import com.example.studentattendance.repositories.UserRepository;
+
+/**
+ * Application context and synthetic data shared by the database-backed benchmarks. Each
+ * benchmark gets its own in-memory H2 database; attendance rows are inserted with plain JDBC
+ * batches, one row per (student, class, day) walking back from today.
+ */
+public final class AttendanceBenchmarkData {
+
+    private static final int INSERT_CHUNK = 10_000;
+    // Must match the allocationSize of Attendance's table generator
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private AttendanceBenchmarkData() {
+    }
+
+    // The security filter chain needs the MVC context, so start a servlet context on a random port.
+    // Properties are passed as command-line arguments: builder default properties would lose to
+    // application.properties.
+    public static ConfigurableApplicationContext startContext(String database, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "app.reports.poll-interval-ms=3600000",
+                "app.outbox.relay-interval-ms=3600000",
+                "logging.level.root=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.com.example.studentattendance=WARN"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(StudentAttendanceApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .run(all.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    public static List<User> seedStudents(ConfigurableApplicationContext context, int count) {
+        List<User> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User student = new User("bench-student-" + i, "bench-student-" + i + "@school.com", "not-a-hash",
+                    "Student", String.valueOf(i), User.UserRole.STUDENT);
+            student.setActive(true);
+            student.setCreatedAt(LocalDateTime.now());
+            student.setUpdatedAt(LocalDateTime.now());
+            students.add(student);
+        }
+        return context.getBean(UserRepository.class).saveAll(students);
+    }
+
+    public static List<Class> seedClasses(ConfigurableApplicationContext context, int count) {
+        User teacher = new User("bench-teacher", "bench-teacher@school.com", "not-a-hash", "Bench", "Teacher",
+                User.UserRole.TEACHER);
+        teacher.setActive(true);
+        teacher.setCreatedAt(LocalDateTime.now());
+        teacher.setUpdatedAt(LocalDateTime.now());
+        teacher = context.getBean(UserRepository.class).save(teacher);
+
+        List<Class> classes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Class classObj = new Class();
+            classObj.setClassName("Bench Class " + i);
+            classObj.setSubject("Subject " + i);
+            classObj.setSchedule("Mon 9:00 AM - 10:30 AM");
+            classObj.setTeacher(teacher);
+            classObj.setActive(true);
+            classObj.setCreatedAt(LocalDateTime.now());
+            classObj.setUpdatedAt(LocalDateTime.now());
+            classes.add(classObj);
+        }
+        return context.getBean(ClassRepository.class).saveAll(classes);
+    }
+
+    // Number of days needed to hold the given rows, one row per (student, class, day)
+    public static int days(int rows, int students, int classes) {
+        int perDay = students * classes;
+        return (rows + perDay - 1) / perDay;
+    }
+
+    // Roughly 75% present, the rest spread over the other statuses; rebuilds the daily rollup afterwards
+    public static void seedAttendance(ConfigurableApplicationContext context, int rows, List<User> students,
+            List<Class> classes, LocalDate endDate) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long firstId = reserveAttendanceIds(context, rows);
+        Attendance.AttendanceStatus[] statuses = Attendance.AttendanceStatus.values();
+        SplittableRandom random = new SplittableRandom(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Time timeIn = Time.valueOf(LocalTime.of(8, 0));
+        String sql = "INSERT INTO attendance (id, class_id, student_id, date, status, time_in, marked_by, created_at, "
+                + "updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+        for (int chunkStart = 0; chunkStart < rows; chunkStart += INSERT_CHUNK) {
+            int offset = chunkStart;
+            int size = Math.min(INSERT_CHUNK, rows - chunkStart);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int row = offset + i;
+                    int student = row % students.size();
+                    int classIndex = (row / students.size()) % classes.size();
+                    int day = row / (students.size() * classes.size());
+                    int roll = random.nextInt(100);
+                    Attendance.AttendanceStatus status = roll < 75 ? statuses[0]
+                            : statuses[1 + roll % (statuses.length - 1)];
+
+                    ps.setLong(1, firstId + row);
+                    ps.setLong(2, classes.get(classIndex).getId());
+                    ps.setLong(3, students.get(student).getId());
+                    ps.setDate(4, Date.valueOf(endDate.minusDays(day)));
+                    ps.setString(5, status.name());
+                    ps.setTime(6, timeIn);
+                    ps.setString(7, "bench");
+                    ps.setTimestamp(8, now);
+                    ps.setTimestamp(9, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+        context.getBean(AttendanceRollupService.class).rebuild();
+    }
+
+    // Move the table generator past a block of count ids and return the first one. Hibernate's pooled
+    // optimizer hands out the allocationSize ids below each value it reads, so the stored value is
+    // pushed a further block past the reserved range.
+    private static long reserveAttendanceIds(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        return new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).execute(status -> {
+            List<Long> current = jdbcTemplate.queryForList(
+                    "SELECT next_val FROM id_generator WHERE sequence_name = 'attendance' FOR UPDATE", Long.class);
+            long base = current.isEmpty() ? 0L : current.get(0);
+            long next = base + count + ID_ALLOCATION_SIZE;
+            if (current.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO id_generator (sequence_name, next_val) VALUES ('attendance', ?)", next);
+            } else {
+                jdbcTemplate.update("UPDATE id_generator SET next_val = ? WHERE sequence_name = 'attendance'", next);
+            }
+            return base + 1;
+        });
+    }
+}
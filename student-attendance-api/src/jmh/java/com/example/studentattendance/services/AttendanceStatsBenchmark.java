@@ -0,0 +1,90 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+
+/**
+ * Stats and report aggregation against an in-memory H2 database seeded with a synthetic
+ * attendance history. Rows are spread over {@value #STUDENTS} students and {@value #CLASSES}
+ * classes, one row per (student, class, day), so the number of days grows with the dataset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class AttendanceStatsBenchmark {
+
+    private static final int STUDENTS = 200;
+    private static final int CLASSES = 20;
+
+    @Param({ "10000", "1000000" })
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private AttendanceService attendanceService;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long classId;
+    private Long studentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = AttendanceBenchmarkData.startContext("bench-" + rows);
+        attendanceService = context.getBean(AttendanceService.class);
+
+        List<User> students = AttendanceBenchmarkData.seedStudents(context, STUDENTS);
+        List<Class> classes = AttendanceBenchmarkData.seedClasses(context, CLASSES);
+        classId = classes.get(0).getId();
+        studentId = students.get(0).getId();
+
+        endDate = LocalDate.now();
+        startDate = endDate.minusDays(AttendanceBenchmarkData.days(rows, STUDENTS, CLASSES) - 1L);
+        AttendanceBenchmarkData.seedAttendance(context, rows, students, classes, endDate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object classStats() {
+        return attendanceService.getClassAttendanceStats(classId, startDate, endDate);
+    }
+
+    @Benchmark
+    public Object studentStats() {
+        return attendanceService.getStudentAttendanceSummary(studentId, startDate, endDate);
+    }
+
+    @Benchmark
+    public Object summaryReport() {
+        return attendanceService.generateAttendanceSummaryReport(startDate, endDate, null, null);
+    }
+
+    @Benchmark
+    public Object dailyReport() {
+        return attendanceService.generateDailyAttendanceReport(startDate, endDate, null);
+    }
+}
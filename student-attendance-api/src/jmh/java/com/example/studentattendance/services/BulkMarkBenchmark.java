@@ -0,0 +1,125 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.studentattendance.dto.AttendanceDto;
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+
+/**
+ * Load test for {@link AttendanceService#markBulkAttendance} with rosters of 50, 500 and 5,000
+ * students, doing what POST /attendance/mark/bulk does per request: load the roster in one
+ * query, then mark it in one transaction (rollup, outbox and batched inserts included). The
+ * primary score is rosters per second; the {@code rowsMarked} secondary result is rows per
+ * second. {@code firstMark} inserts a fresh day each call, {@code remark} updates the same day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class BulkMarkBenchmark {
+
+    @Param({ "50", "500", "5000" })
+    private int roster;
+
+    private ConfigurableApplicationContext context;
+    private AttendanceService attendanceService;
+    private UserService userService;
+    private Class classObj;
+    private Set<Long> studentIds;
+    private List<AttendanceDto.MarkAttendanceRequest> presentRows;
+    private List<AttendanceDto.MarkAttendanceRequest> lateRows;
+    private LocalDate nextNewDate;
+    private LocalDate remarkDate;
+    private boolean late;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long rowsMarked;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = AttendanceBenchmarkData.startContext("bulk-mark-" + roster);
+        attendanceService = context.getBean(AttendanceService.class);
+        userService = context.getBean(UserService.class);
+
+        List<User> students = AttendanceBenchmarkData.seedStudents(context, roster);
+        classObj = AttendanceBenchmarkData.seedClasses(context, 1).get(0);
+        studentIds = students.stream().map(User::getId).collect(Collectors.toSet());
+        presentRows = rosterRows(students, Attendance.AttendanceStatus.PRESENT);
+        lateRows = rosterRows(students, Attendance.AttendanceStatus.LATE);
+
+        remarkDate = LocalDate.now();
+        markRoster(remarkDate, presentRows);
+        nextNewDate = remarkDate.minusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int firstMark(Rows rows) {
+        int marked = markRoster(nextNewDate, presentRows);
+        nextNewDate = nextNewDate.minusDays(1);
+        rows.rowsMarked += marked;
+        return marked;
+    }
+
+    @Benchmark
+    public int remark(Rows rows) {
+        late = !late;
+        int marked = markRoster(remarkDate, late ? lateRows : presentRows);
+        rows.rowsMarked += marked;
+        return marked;
+    }
+
+    private int markRoster(LocalDate date, List<AttendanceDto.MarkAttendanceRequest> rows) {
+        Map<Long, User> students = userService.findAllByIds(studentIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return attendanceService.markBulkAttendance(classObj, date, "bench", rows, students).size();
+    }
+
+    private List<AttendanceDto.MarkAttendanceRequest> rosterRows(List<User> students,
+            Attendance.AttendanceStatus status) {
+        List<AttendanceDto.MarkAttendanceRequest> rows = new ArrayList<>(students.size());
+        for (User student : students) {
+            AttendanceDto.MarkAttendanceRequest row = new AttendanceDto.MarkAttendanceRequest();
+            row.setStudentId(student.getId());
+            row.setClassId(classObj.getId());
+            row.setStatus(status);
+            row.setTimeIn(status == Attendance.AttendanceStatus.LATE ? "08:20" : "08:00");
+            rows.add(row);
+        }
+        return rows;
+    }
+}
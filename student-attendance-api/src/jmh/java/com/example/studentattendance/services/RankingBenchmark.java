@@ -0,0 +1,95 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.studentattendance.config.CacheConfig;
+import com.example.studentattendance.dto.ReportsDto;
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+
+/**
+ * Student ranking over 50,000 students, the size the ranking endpoint has to answer in under
+ * 100 ms. {@code uncached} clears the ranking snapshots before every call, so it measures the
+ * grouped query, the top-K heap and the name lookup; {@code cached} is the snapshot hit that
+ * repeated requests between attendance writes get.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class RankingBenchmark {
+
+    private static final int CLASSES = 1;
+    private static final int LIMIT = 10;
+
+    @Param({ "50000" })
+    private int students;
+
+    // Attendance days per student; rows = students * days
+    @Param({ "10" })
+    private int days;
+
+    private ConfigurableApplicationContext context;
+    private AttendanceRankingService rankingService;
+    private Cache snapshots;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = AttendanceBenchmarkData.startContext("ranking-" + students);
+        rankingService = context.getBean(AttendanceRankingService.class);
+        snapshots = context.getBean(CacheManager.class).getCache(CacheConfig.RANKINGS);
+
+        List<User> seeded = AttendanceBenchmarkData.seedStudents(context, students);
+        List<Class> classes = AttendanceBenchmarkData.seedClasses(context, CLASSES);
+        endDate = LocalDate.now();
+        startDate = endDate.minusDays(days - 1L);
+        AttendanceBenchmarkData.seedAttendance(context, students * days, seeded, classes, endDate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Empties the ranking snapshots before each call of the benchmark that takes it
+    @State(Scope.Thread)
+    public static class ClearedSnapshots {
+        @Setup(Level.Invocation)
+        public void clear(RankingBenchmark benchmark) {
+            benchmark.snapshots.clear();
+        }
+    }
+
+    @Benchmark
+    public List<ReportsDto.StudentRankingReport> uncached(ClearedSnapshots cleared) {
+        return rankingService.rankStudents(startDate, endDate, null, LIMIT);
+    }
+
+    @Benchmark
+    public List<ReportsDto.StudentRankingReport> cached() {
+        return rankingService.rankStudents(startDate, endDate, null, LIMIT);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+import com.example.studentattendance.repositories.AttendanceRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Class and student status counts computed the old way, by loading every attendance entity in
+ * the range and counting in Java, against {@link AttendanceService#aggregateStatusCounts}. Before
+ * measuring, each path is called once and the number of entities Hibernate loaded for that call
+ * (from the session factory statistics) is printed, so the output shows both sides of the trade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class StatusCountsBenchmark {
+
+    private static final int STUDENTS = 200;
+    private static final int CLASSES = 20;
+
+    @Param({ "10000", "1000000" })
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private AttendanceService attendanceService;
+    private AttendanceRepository attendanceRepository;
+    private Statistics statistics;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long classId;
+    private Long studentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = AttendanceBenchmarkData.startContext("status-counts-" + rows,
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        attendanceService = context.getBean(AttendanceService.class);
+        attendanceRepository = context.getBean(AttendanceRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        List<User> students = AttendanceBenchmarkData.seedStudents(context, STUDENTS);
+        List<Class> classes = AttendanceBenchmarkData.seedClasses(context, CLASSES);
+        classId = classes.get(0).getId();
+        studentId = students.get(0).getId();
+
+        endDate = LocalDate.now();
+        startDate = endDate.minusDays(AttendanceBenchmarkData.days(rows, STUDENTS, CLASSES) - 1L);
+        AttendanceBenchmarkData.seedAttendance(context, rows, students, classes, endDate);
+
+        printEntityLoads("classEntityLoading", this::classEntityLoading);
+        printEntityLoads("classAggregate", this::classAggregate);
+        printEntityLoads("studentEntityLoading", this::studentEntityLoading);
+        printEntityLoads("studentAggregate", this::studentAggregate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AttendanceStatusCounts classEntityLoading() {
+        return countInJava(attendanceRepository.findByClassIdAndDateBetween(classId, startDate, endDate));
+    }
+
+    @Benchmark
+    public AttendanceStatusCounts classAggregate() {
+        return attendanceService.aggregateStatusCounts(startDate, endDate, classId, null);
+    }
+
+    @Benchmark
+    public AttendanceStatusCounts studentEntityLoading() {
+        return countInJava(attendanceRepository.findByStudentIdAndDateBetween(studentId, startDate, endDate));
+    }
+
+    @Benchmark
+    public AttendanceStatusCounts studentAggregate() {
+        return attendanceService.aggregateStatusCounts(startDate, endDate, null, studentId);
+    }
+
+    private void printEntityLoads(String path, Supplier<AttendanceStatusCounts> call) {
+        long before = statistics.getEntityLoadCount();
+        AttendanceStatusCounts counts = call.get();
+        long loaded = statistics.getEntityLoadCount() - before;
+        System.out.printf("%s (rows=%d): %d records counted, %d entities loaded%n", path, rows, counts.getTotal(),
+                loaded);
+    }
+
+    // What the stats methods did before aggregateStatusCounts
+    private static AttendanceStatusCounts countInJava(List<Attendance> attendances) {
+        AttendanceStatusCounts counts = new AttendanceStatusCounts();
+        for (Attendance attendance : attendances) {
+            counts.add(attendance.getStatus(), 1);
+        }
+        return counts;
+    }
+}
@@ -7,10 +7,6 @@ import com.example.studentattendance.repositories.ClassRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,7 +15,6 @@ import java.util.Optional;
 @SpringBootApplication
 @RestController
 @CrossOrigin(origins = "*")
-@EnableWebSecurity
 public class StudentAttendanceApplication {
 
     @Autowired
@@ -35,13 +30,6 @@ public class StudentAttendanceApplication {
         System.out.println("🗄️  H2 Database Console: http://localhost:8080/h2-console");
     }
 
-    @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        http.csrf(csrf -> csrf.disable())
-            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
-        return http.build();
-    }
-
     // Health check
     @GetMapping("/api/health")
     public String health() {
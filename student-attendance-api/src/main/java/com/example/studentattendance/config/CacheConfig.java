@@ -0,0 +1,56 @@
+package com.example.studentattendance.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_COUNTS = "userCounts";
+    public static final String CLASS_COUNTS = "classCounts";
+    public static final String ATTENDANCE_COUNTS = "attendanceCounts";
+    public static final String USER_DETAILS = "userDetails";
+    public static final String RANKINGS = "rankings";
+    public static final String REPORT_PLANS = "reportPlans";
+
+    @Value("${app.cache.user-counts.spec:maximumSize=100,expireAfterWrite=300s}")
+    private String userCountsSpec;
+
+    @Value("${app.cache.class-counts.spec:maximumSize=100,expireAfterWrite=300s}")
+    private String classCountsSpec;
+
+    @Value("${app.cache.attendance-counts.spec:maximumSize=500,expireAfterWrite=60s}")
+    private String attendanceCountsSpec;
+
+    @Value("${app.cache.user-details.spec:maximumSize=10000,expireAfterWrite=300s}")
+    private String userDetailsSpec;
+
+    @Value("${app.cache.rankings.spec:maximumSize=200,expireAfterWrite=900s}")
+    private String rankingsSpec;
+
+    @Value("${app.cache.report-plans.spec:maximumSize=256}")
+    private String reportPlansSpec;
+
+    @Value("${spring.cache.caffeine.spec:maximumSize=500,expireAfterWrite=600s}")
+    private String defaultSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // recordStats() feeds the cache.gets/cache.puts/cache.evictions meters under /actuator/metrics
+        cacheManager.setCaffeine(Caffeine.from(defaultSpec).recordStats());
+        cacheManager.registerCustomCache(USER_COUNTS, Caffeine.from(userCountsSpec).recordStats().build());
+        cacheManager.registerCustomCache(CLASS_COUNTS, Caffeine.from(classCountsSpec).recordStats().build());
+        cacheManager.registerCustomCache(ATTENDANCE_COUNTS, Caffeine.from(attendanceCountsSpec).recordStats().build());
+        cacheManager.registerCustomCache(USER_DETAILS, Caffeine.from(userDetailsSpec).recordStats().build());
+        cacheManager.registerCustomCache(RANKINGS, Caffeine.from(rankingsSpec).recordStats().build());
+        cacheManager.registerCustomCache(REPORT_PLANS, Caffeine.from(reportPlansSpec).recordStats().build());
+        return cacheManager;
+    }
+}
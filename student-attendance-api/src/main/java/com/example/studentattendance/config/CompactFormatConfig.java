@@ -0,0 +1,86 @@
+package com.example.studentattendance.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Optional compact response formats. Clients that send {@code Accept: application/cbor}
+ * or {@code Accept: application/x-jackson-smile} get the same payloads in a binary
+ * encoding on the configured paths; everyone else keeps JSON. The mappers come from the
+ * Boot-configured builder, so dates and naming match the JSON responses. Spring MVC
+ * registers global CBOR/Smile converters when the libraries are present; those are
+ * replaced here by path-scoped ones.
+ */
+@Configuration
+public class CompactFormatConfig implements WebMvcConfigurer {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Value("${app.web.compact-formats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.web.compact-formats.paths:/attendance/**,/reports/**}")
+    private List<String> paths;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        if (!enabled) {
+            return;
+        }
+        // Appended after JSON, so */* and missing Accept headers still negotiate JSON
+        ObjectMapper cborMapper = objectMapperBuilder.getObject().factory(new CBORFactory()).build();
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper) {
+            @Override
+            public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+                return isCompactPath() && super.canWrite(clazz, mediaType);
+            }
+        });
+        ObjectMapper smileMapper = objectMapperBuilder.getObject().factory(new SmileFactory()).build();
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper) {
+            @Override
+            public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+                return isCompactPath() && super.canWrite(clazz, mediaType);
+            }
+        });
+    }
+
+    private boolean isCompactPath() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        String path = PATH_HELPER.getPathWithinApplication(servletAttributes.getRequest());
+        for (String pattern : paths) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.studentattendance.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaginationProperties {
+
+    @Value("${app.pagination.default-size:100}")
+    private int defaultSize;
+
+    @Value("${app.pagination.max-size:500}")
+    private int maxSize;
+
+    // Apply the default when no limit is given and cap anything above the configured maximum
+    public int resolveLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return Math.min(defaultSize, maxSize);
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    public int getDefaultSize() { return defaultSize; }
+
+    public int getMaxSize() { return maxSize; }
+}
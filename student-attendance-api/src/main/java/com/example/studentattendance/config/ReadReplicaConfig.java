@@ -0,0 +1,117 @@
+package com.example.studentattendance.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Optional read replica, enabled by setting {@code app.datasource.replica.url}. The
+ * application {@link DataSource} becomes a lazy proxy over {@link ReplicaRoutingDataSource}:
+ * {@code @Transactional(readOnly = true)} work reads from the replica pool while its lag is
+ * within tolerance, and all other work uses the primary pool built from
+ * {@code spring.datasource.*}. Both pools are Hikari and export hikaricp.* metrics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.driver-class-name:}") String driverClassName) {
+        // Credentials and driver default to the primary's
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .driverClassName(driverClassName.isEmpty() ? properties.determineDriverClassName() : driverClassName)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.lag-check:heartbeat}") String lagCheck,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replica, lagCheck, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor lagMonitor,
+            @Value("${app.datasource.replica.max-lag-ms:5000}") long defaultMaxLagMs) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(lagMonitor::getLagMillis, defaultMaxLagMs);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Target.PRIMARY, primary,
+                ReplicaRoutingDataSource.Target.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        // Defer the routing decision until the first statement, when the read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Applies @ReplicaLagTolerance around the annotated method; registered as infrastructure
+    // so the same auto-proxy creator that applies @Transactional and @Cacheable picks it up
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor replicaLagToleranceAdvisor() {
+        MethodInterceptor interceptor = invocation -> {
+            ReplicaLagTolerance tolerance = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(),
+                    ReplicaLagTolerance.class);
+            if (tolerance == null) {
+                return invocation.proceed();
+            }
+            Long previous = ReplicaRoutingDataSource.currentMaxLag();
+            ReplicaRoutingDataSource.setMaxLag(tolerance.maxLagMs());
+            try {
+                return invocation.proceed();
+            } finally {
+                ReplicaRoutingDataSource.setMaxLag(previous);
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, ReplicaLagTolerance.class, true), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.studentattendance.config;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Measures replica lag with a heartbeat: the primary's {@code replica_heartbeat} row is
+ * stamped with the current time and read back from the replica. A replica that cannot
+ * be read counts as infinitely behind, so reads fall back to the primary. With
+ * {@code lag-check=none} (e.g. two local H2 databases that do not replicate) the lag
+ * is always reported as 0.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    public static final String CHECK_HEARTBEAT = "heartbeat";
+    public static final String CHECK_NONE = "none";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final boolean heartbeat;
+    private final AtomicLong lagMillis;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, String lagCheck, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.heartbeat = !CHECK_NONE.equalsIgnoreCase(lagCheck);
+        // Until the first beat has been read back the replica is treated as unusable
+        this.lagMillis = new AtomicLong(heartbeat ? Long.MAX_VALUE : 0L);
+        Gauge.builder("datasource.replica.lag", lagMillis, AtomicLong::get)
+                .description("Replication lag measured by the heartbeat, in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.heartbeat-ms:1000}")
+    public void beat() {
+        if (!heartbeat) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("UPDATE replica_heartbeat SET beat_at_ms = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_at_ms) VALUES (1, ?)", now);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not write replica heartbeat: {}", e.getMessage());
+        }
+        try {
+            List<Long> beats = replica.queryForList("SELECT beat_at_ms FROM replica_heartbeat WHERE id = 1",
+                    Long.class);
+            lagMillis.set(beats.isEmpty() ? Long.MAX_VALUE : Math.max(0L, now - beats.get(0)));
+        } catch (RuntimeException e) {
+            lagMillis.set(Long.MAX_VALUE);
+            logger.warn("Could not read replica heartbeat, routing reads to primary: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.studentattendance.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides {@code app.datasource.replica.max-lag-ms} for read-only transactions started
+ * inside the annotated method. When the replica is further behind than {@link #maxLagMs()}
+ * the method reads from the primary instead; 0 always reads from the primary.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReplicaLagTolerance {
+
+    // Tolerance for long-running, uncached reports where a minute of staleness is acceptable
+    long REPORTS_MS = 60_000;
+
+    long maxLagMs();
+}
@@ -0,0 +1,65 @@
+package com.example.studentattendance.config;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica while its measured lag is
+ * within tolerance, and everything else to the primary. It must sit behind a
+ * {@code LazyConnectionDataSourceProxy} so the lookup happens at the first statement,
+ * after the transaction's read-only flag has been bound to the thread.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    // Per-call lag tolerance set by @ReplicaLagTolerance; null means the configured default
+    private static final ThreadLocal<Long> MAX_LAG_MS = new ThreadLocal<>();
+
+    private final LongSupplier lagMillis;
+    private final long defaultMaxLagMs;
+
+    public ReplicaRoutingDataSource(LongSupplier lagMillis, long defaultMaxLagMs) {
+        this.lagMillis = lagMillis;
+        this.defaultMaxLagMs = defaultMaxLagMs;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        Long maxLag = MAX_LAG_MS.get();
+        long allowed = maxLag != null ? maxLag : defaultMaxLagMs;
+        return allowed > 0 && lagMillis.getAsLong() <= allowed ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    // Tolerance in force on this thread, so work handed to other threads can carry it along
+    public static Long currentMaxLag() {
+        return MAX_LAG_MS.get();
+    }
+
+    public static <T> T callWithMaxLag(Long maxLagMs, Supplier<T> action) {
+        Long previous = MAX_LAG_MS.get();
+        setMaxLag(maxLagMs);
+        try {
+            return action.get();
+        } finally {
+            setMaxLag(previous);
+        }
+    }
+
+    static void setMaxLag(Long maxLagMs) {
+        if (maxLagMs == null) {
+            MAX_LAG_MS.remove();
+        } else {
+            MAX_LAG_MS.set(maxLagMs);
+        }
+    }
+}
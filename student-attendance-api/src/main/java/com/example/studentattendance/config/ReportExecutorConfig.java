@@ -0,0 +1,93 @@
+package com.example.studentattendance.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for report generation and chunked aggregation. With
+ * {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime, Spring Boot runs
+ * Tomcat, {@code @Async} and {@code @Scheduled} work on virtual threads, and these pools
+ * switch to virtual threads as well: they keep their bounds and queues, but a worker
+ * blocked on JDBC no longer holds a platform thread. The Hikari pool size is then the
+ * effective limit on concurrent database work. On older runtimes the property is
+ * ignored and platform threads are used.
+ */
+@Configuration
+@EnableScheduling
+public class ReportExecutorConfig {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.reports.executor.core-size:2}")
+    private int coreSize;
+
+    @Value("${app.reports.executor.max-size:4}")
+    private int maxSize;
+
+    @Value("${app.reports.executor.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${app.reports.aggregation.parallelism:0}")
+    private int aggregationParallelism;
+
+    @Value("${app.reports.aggregation.queue-capacity:256}")
+    private int aggregationQueueCapacity;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    // Bounded pool for report generation so heavy reports never run on request threads
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        applyThreading(executor, "report-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // Per-chunk aggregation for long date ranges, sized to the cores (0 = availableProcessors,
+    // or the connection pool size on virtual threads, where chunks mostly wait on JDBC).
+    // Kept apart from reportExecutor so a report waiting on its chunks never starves them;
+    // when the queue is full the calling thread aggregates the chunk itself.
+    @Bean(name = "aggregationExecutor")
+    public ThreadPoolTaskExecutor aggregationExecutor() {
+        int threads = aggregationParallelism > 0 ? aggregationParallelism
+                : isVirtual() ? connectionPoolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(aggregationQueueCapacity);
+        executor.setThreadNamePrefix("aggregate-");
+        applyThreading(executor, "aggregate-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private boolean isVirtual() {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+
+    // Pool bounds and queues are kept either way; only the worker threads change
+    private void applyThreading(ThreadPoolTaskExecutor executor, String threadNamePrefix) {
+        if (isVirtual()) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+    }
+}
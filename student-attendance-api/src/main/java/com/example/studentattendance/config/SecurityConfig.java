@@ -1,15 +1,18 @@
 package com.example.studentattendance.config;
 
+import com.example.studentattendance.security.BoundedPasswordEncoder;
 import com.example.studentattendance.security.JwtAuthenticationFilter;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -18,11 +21,23 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 public class SecurityConfig {
     
-    @Autowired
-    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
     
+    @Value("${app.security.password-hashing.threads:0}")
+    private int hashingThreads;
+    
+    @Value("${app.security.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+    
+    @Value("${app.security.password-hashing.timeout-ms:5000}")
+    private long hashingTimeoutMs;
+    
+    // The filter is a method argument rather than a field: it depends on UserService, which needs
+    // the passwordEncoder defined here
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter)
+            throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.and())
@@ -49,8 +64,23 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
     
+    // BCrypt is CPU-bound, so hashing gets its own pool sized to the cores (0 = availableProcessors)
+    // and a short queue; beyond that, logins and registrations fail fast with 429
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(hashingQueueCapacity);
+        executor.setThreadNamePrefix("bcrypt-");
+        executor.initialize();
+        return executor;
+    }
+    
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(bcryptStrength, executor, hashingTimeoutMs, meterRegistry);
     }
 }
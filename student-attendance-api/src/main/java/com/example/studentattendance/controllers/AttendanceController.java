@@ -4,12 +4,20 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -19,6 +27,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,15 +36,20 @@ import com.example.studentattendance.dto.AttendanceDto;
 import com.example.studentattendance.models.Attendance;
 import com.example.studentattendance.models.Class;
 import com.example.studentattendance.models.User;
+import com.example.studentattendance.services.AttendanceOutboxMessage;
 import com.example.studentattendance.services.AttendanceService;
+import com.example.studentattendance.services.AttendanceWriteLimiter;
+import com.example.studentattendance.services.AttendanceWriteRejectedException;
 import com.example.studentattendance.services.ClassService;
+import com.example.studentattendance.services.ColumnarAttendanceEncoder;
+import com.example.studentattendance.services.KeysetPage;
 import com.example.studentattendance.services.UserService;
 
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/attendance")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = KeysetPage.NEXT_CURSOR_HEADER)
 public class AttendanceController {
 
     @Autowired
@@ -47,6 +61,9 @@ public class AttendanceController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AttendanceWriteLimiter attendanceWriteLimiter;
+
     // Mark attendance for a single student
     @PostMapping("/mark")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
@@ -78,7 +95,8 @@ public class AttendanceController {
                 existingAttendance.setMarkedBy(request.getMarkedBy());
                 existingAttendance.setUpdatedAt(LocalDateTime.now());
 
-                Attendance updatedAttendance = attendanceService.save(existingAttendance);
+                Attendance updatedAttendance = attendanceWriteLimiter.run(
+                        () -> attendanceService.save(existingAttendance));
                 return ResponseEntity.ok(convertToAttendanceResponse(updatedAttendance));
             } else {
                 // Create new attendance record
@@ -92,9 +110,14 @@ public class AttendanceController {
                 attendance.setNotes(request.getNotes());
                 attendance.setMarkedBy(request.getMarkedBy());
 
-                Attendance savedAttendance = attendanceService.save(attendance);
+                Attendance savedAttendance = attendanceWriteLimiter.run(() -> attendanceService.save(attendance));
                 return ResponseEntity.ok(convertToAttendanceResponse(savedAttendance));
             }
+        } catch (AttendanceWriteRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+            // Someone else marked or edited the same record concurrently
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -103,7 +126,7 @@ public class AttendanceController {
     // Mark attendance for multiple students (bulk operation)
     @PostMapping("/mark/bulk")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
-    public ResponseEntity<List<AttendanceDto.AttendanceResponse>> markBulkAttendance(
+    public ResponseEntity<List<AttendanceDto.BulkAttendanceResult>> markBulkAttendance(
             @Valid @RequestBody AttendanceDto.BulkAttendanceRequest request) {
         try {
             // Verify class exists
@@ -112,53 +135,27 @@ public class AttendanceController {
                 return ResponseEntity.notFound().build();
             }
 
-            List<AttendanceDto.AttendanceResponse> responses = request.getAttendances().stream()
-                    .map(attendanceRequest -> {
-                        try {
-                            // Verify student exists
-                            User student = userService.findById(attendanceRequest.getStudentId());
-                            if (student == null || student.getRole() != User.UserRole.STUDENT) {
-                                return null;
-                            }
-
-                            // Check if attendance already exists
-                            Attendance existingAttendance = attendanceService.findByStudentAndClassAndDate(
-                                    attendanceRequest.getStudentId(), request.getClassId(), request.getDate());
-
-                            if (existingAttendance != null) {
-                                // Update existing
-                                existingAttendance.setStatus(attendanceRequest.getStatus());
-                                existingAttendance.setTimeIn(parseTimeString(attendanceRequest.getTimeIn()));
-                                existingAttendance.setTimeOut(parseTimeString(attendanceRequest.getTimeOut()));
-                                existingAttendance.setNotes(attendanceRequest.getNotes());
-                                existingAttendance.setMarkedBy(request.getMarkedBy());
-                                existingAttendance.setUpdatedAt(LocalDateTime.now());
-
-                                Attendance updatedAttendance = attendanceService.save(existingAttendance);
-                                return convertToAttendanceResponse(updatedAttendance);
-                            } else {
-                                // Create new
-                                Attendance attendance = new Attendance();
-                                attendance.setStudent(student);
-                                attendance.setClassObj(classObj);
-                                attendance.setDate(request.getDate());
-                                attendance.setStatus(attendanceRequest.getStatus());
-                                attendance.setTimeIn(parseTimeString(attendanceRequest.getTimeIn()));
-                                attendance.setTimeOut(parseTimeString(attendanceRequest.getTimeOut()));
-                                attendance.setNotes(attendanceRequest.getNotes());
-                                attendance.setMarkedBy(request.getMarkedBy());
-
-                                Attendance savedAttendance = attendanceService.save(attendance);
-                                return convertToAttendanceResponse(savedAttendance);
-                            }
-                        } catch (Exception e) {
-                            return null;
-                        }
-                    })
-                    .filter(response -> response != null)
+            // Load the whole roster in one query
+            Set<Long> studentIds = request.getAttendances().stream()
+                    .map(AttendanceDto.MarkAttendanceRequest::getStudentId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<Long, User> students = userService.findAllByIds(studentIds).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+
+            List<AttendanceDto.BulkAttendanceResult> results = attendanceWriteLimiter
+                    .run(() -> attendanceService.markBulkAttendance(classObj, request.getDate(),
+                            request.getMarkedBy(), request.getAttendances(), students))
+                    .stream()
+                    .map(this::convertToBulkAttendanceResult)
                     .collect(Collectors.toList());
 
-            return ResponseEntity.ok(responses);
+            return ResponseEntity.ok(results);
+        } catch (AttendanceWriteRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+            // Someone else marked or edited one of the records concurrently
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -184,16 +181,25 @@ public class AttendanceController {
     // Get attendance by student and date range
     @GetMapping("/student/{studentId}/range")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or #studentId == authentication.principal.id")
-    public ResponseEntity<List<AttendanceDto.AttendanceResponse>> getAttendanceByStudentAndDateRange(
+    public ResponseEntity<?> getAttendanceByStudentAndDateRange(
             @PathVariable Long studentId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            List<Attendance> attendances = attendanceService.findByStudentAndDateRange(studentId, startDate, endDate);
-            List<AttendanceDto.AttendanceResponse> responses = attendances.stream()
-                    .map(this::convertToAttendanceResponse)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(responses);
+            // Resolve the format first so an unsupported one is rejected before querying
+            boolean columnar = isColumnar(format, accept);
+            KeysetPage<Attendance> page = attendanceService
+                    .findPageByStudentAndDateRange(studentId, startDate, endDate, cursor, limit);
+            if (columnar) {
+                return columnarResponse(page, accept);
+            }
+            return pageResponse(page.map(this::convertToAttendanceResponse));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -202,16 +208,41 @@ public class AttendanceController {
     // Get attendance by class and date range
     @GetMapping("/class/{classId}/range")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or @classService.isStudentEnrolled(#classId, authentication.principal.id)")
-    public ResponseEntity<List<AttendanceDto.AttendanceResponse>> getAttendanceByClassAndDateRange(
+    public ResponseEntity<?> getAttendanceByClassAndDateRange(
             @PathVariable Long classId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            List<Attendance> attendances = attendanceService.findByClassAndDateRange(classId, startDate, endDate);
-            List<AttendanceDto.AttendanceResponse> responses = attendances.stream()
-                    .map(this::convertToAttendanceResponse)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(responses);
+            // Resolve the format first so an unsupported one is rejected before querying
+            boolean columnar = isColumnar(format, accept);
+            KeysetPage<Attendance> page = attendanceService
+                    .findPageByClassAndDateRange(classId, startDate, endDate, cursor, limit);
+            if (columnar) {
+                return columnarResponse(page, accept);
+            }
+            return pageResponse(page.map(this::convertToAttendanceResponse));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Page through a class's append-only attendance change log in sequence order
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    public ResponseEntity<List<AttendanceOutboxMessage>> getAttendanceChanges(
+            @RequestParam Long classId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return pageResponse(attendanceService.findChangePage(cursor, classId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -257,6 +288,8 @@ public class AttendanceController {
 
             Attendance updatedAttendance = attendanceService.save(attendance);
             return ResponseEntity.ok(convertToAttendanceResponse(updatedAttendance));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -329,24 +362,7 @@ public class AttendanceController {
 
     // Helper method to parse time string to LocalTime
     private LocalTime parseTimeString(String timeString) {
-        if (timeString == null || timeString.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            // Try parsing with different formats
-            if (timeString.length() == 5) { // HH:mm format
-                return LocalTime.parse(timeString, DateTimeFormatter.ofPattern("HH:mm"));
-            } else if (timeString.length() == 8) { // HH:mm:ss format
-                return LocalTime.parse(timeString, DateTimeFormatter.ofPattern("HH:mm:ss"));
-            } else {
-                // Try default parsing
-                return LocalTime.parse(timeString);
-            }
-        } catch (DateTimeParseException e) {
-            // Log the error and return null
-            System.err.println("Failed to parse time string: " + timeString + " - " + e.getMessage());
-            return null;
-        }
+        return AttendanceService.parseTimeString(timeString);
     }
 
     // Helper method to format LocalTime to String
@@ -357,6 +373,50 @@ public class AttendanceController {
         return time.format(DateTimeFormatter.ofPattern("HH:mm"));
     }
 
+    private AttendanceDto.BulkAttendanceResult convertToBulkAttendanceResult(AttendanceService.BulkMarkResult result) {
+        AttendanceDto.BulkAttendanceResult response = new AttendanceDto.BulkAttendanceResult();
+        response.setStudentId(result.getStudentId());
+        response.setResult(result.getResult());
+        response.setMessage(result.getMessage());
+        if (result.getAttendance() != null) {
+            response.setAttendance(convertToAttendanceResponse(result.getAttendance()));
+        }
+        return response;
+    }
+
+    // Columnar shape via ?format=columnar or Accept: application/vnd.attendance.columnar+json
+    private static boolean isColumnar(String format, String accept) {
+        if (format != null) {
+            if (AttendanceDto.ColumnarAttendanceResponse.FORMAT.equalsIgnoreCase(format)) {
+                return true;
+            }
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+        return accept != null && accept.contains(AttendanceDto.ColumnarAttendanceResponse.MEDIA_TYPE);
+    }
+
+    private ResponseEntity<AttendanceDto.ColumnarAttendanceResponse> columnarResponse(KeysetPage<Attendance> page,
+            String accept) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        // Only pin the vendor type when it was asked for, so ?format=columnar still negotiates CBOR/Smile
+        if (accept != null && accept.contains(AttendanceDto.ColumnarAttendanceResponse.MEDIA_TYPE)) {
+            response.contentType(MediaType.parseMediaType(AttendanceDto.ColumnarAttendanceResponse.MEDIA_TYPE));
+        }
+        return response.body(ColumnarAttendanceEncoder.encode(page.getItems()));
+    }
+
+    // Page items go in the body; the continuation token, when there is one, goes in a header
+    private <T> ResponseEntity<List<T>> pageResponse(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
     private AttendanceDto.AttendanceResponse convertToAttendanceResponse(Attendance attendance) {
         AttendanceDto.AttendanceResponse response = new AttendanceDto.AttendanceResponse();
         response.setId(attendance.getId());
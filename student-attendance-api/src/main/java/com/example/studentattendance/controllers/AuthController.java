@@ -2,10 +2,16 @@ package com.example.studentattendance.controllers;
 
 import com.example.studentattendance.dto.AuthDto;
 import com.example.studentattendance.models.User;
+import com.example.studentattendance.security.AuthenticatedUser;
 import com.example.studentattendance.security.JwtUtil;
+import com.example.studentattendance.security.PasswordHashingRejectedException;
+import com.example.studentattendance.services.SystemMetricsService;
 import com.example.studentattendance.services.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -27,6 +33,9 @@ public class AuthController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private SystemMetricsService systemMetricsService;
+    
     @PostMapping("/login")
     public ResponseEntity<AuthDto.AuthResponse> login(@Valid @RequestBody AuthDto.LoginRequest request) {
         try {
@@ -44,6 +53,7 @@ public class AuthController {
             
             // Update last login
             userService.updateLastLogin(user.getId());
+            systemMetricsService.recordLogin();
             
             // Create response
             AuthDto.AuthResponse response = new AuthDto.AuthResponse();
@@ -56,6 +66,9 @@ public class AuthController {
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
+            if (PasswordHashingRejectedException.isCause(e)) {
+                return tooManyRequests();
+            }
             return ResponseEntity.badRequest().build();
         }
     }
@@ -90,6 +103,8 @@ public class AuthController {
             
             return ResponseEntity.ok(response);
             
+        } catch (PasswordHashingRejectedException e) {
+            return tooManyRequests();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -99,12 +114,17 @@ public class AuthController {
     public ResponseEntity<AuthDto.AuthResponse> refreshToken(@RequestHeader("Authorization") String refreshToken) {
         try {
             String token = jwtUtil.extractTokenFromHeader(refreshToken);
-            if (token == null || !jwtUtil.validateToken(token)) {
+            Claims claims = token != null ? jwtUtil.parseToken(token) : null;
+            if (claims == null) {
                 return ResponseEntity.badRequest().build();
             }
             
-            String username = jwtUtil.extractUsername(token);
-            UserDetails userDetails = userService.loadUserByUsername(username);
+            // Same checks as JwtAuthenticationFilter: the account must still be active and the
+            // token must carry its current id, role and credentials version
+            AuthenticatedUser userDetails = userService.loadAuthenticatedUser(claims.getSubject());
+            if (userDetails == null || !userDetails.isEnabled() || !jwtUtil.matchesPrincipal(claims, userDetails)) {
+                return ResponseEntity.badRequest().build();
+            }
             
             // Generate new tokens
             String newAccessToken = jwtUtil.generateToken(userDetails);
@@ -116,7 +136,7 @@ public class AuthController {
             response.setRefreshToken(newRefreshToken);
             response.setTokenType("Bearer");
             response.setExpiresIn(86400000L); // 24 hours
-            response.setUser(userService.findByUsername(username));
+            response.setUser(userService.findByUsername(userDetails.getUsername()));
             
             return ResponseEntity.ok(response);
             
@@ -131,4 +151,9 @@ public class AuthController {
         // For now, we'll just return success
         return ResponseEntity.ok().build();
     }
+    
+    // Password hashing is saturated; the client should retry shortly
+    private static <T> ResponseEntity<T> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
 }
@@ -4,6 +4,7 @@ import com.example.studentattendance.dto.ClassDto;
 import com.example.studentattendance.models.Class;
 import com.example.studentattendance.models.User;
 import com.example.studentattendance.services.ClassService;
+import com.example.studentattendance.services.KeysetPage;
 import com.example.studentattendance.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,7 +18,7 @@ import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/classes")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = KeysetPage.NEXT_CURSOR_HEADER)
 public class ClassController {
     
     @Autowired
@@ -28,13 +29,25 @@ public class ClassController {
     
     // Get all classes
     @GetMapping
-    public ResponseEntity<List<ClassDto.ClassResponse>> getAllClasses() {
+    public ResponseEntity<List<ClassDto.ClassResponse>> getAllClasses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Class> classes = classService.findAll();
-            List<ClassDto.ClassResponse> classResponses = classes.stream()
-                .map(this::convertToClassResponse)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(classResponses);
+            // Without paging parameters keep returning the full list for existing clients
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(classService.findAll().stream()
+                    .map(this::convertToClassResponse)
+                    .collect(Collectors.toList()));
+            }
+            KeysetPage<ClassDto.ClassResponse> page = classService.findPage(cursor, limit)
+                .map(this::convertToClassResponse);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNext()) {
+                response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -108,13 +121,16 @@ public class ClassController {
     
     // Search classes
     @GetMapping("/search")
-    public ResponseEntity<List<ClassDto.ClassResponse>> searchClasses(@RequestParam String query) {
+    public ResponseEntity<List<ClassDto.ClassResponse>> searchClasses(@RequestParam String query,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Class> classes = classService.searchClasses(query);
+            List<Class> classes = classService.searchClasses(query, limit);
             List<ClassDto.ClassResponse> classResponses = classes.stream()
                 .map(this::convertToClassResponse)
                 .collect(Collectors.toList());
             return ResponseEntity.ok(classResponses);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -142,7 +158,7 @@ public class ClassController {
         try {
             User teacher = userService.findById(request.getTeacherId());
             if (teacher == null || teacher.getRole() != User.UserRole.TEACHER) {
-                return ResponseEntity.badRequest().body("Invalid teacher ID");
+                return ResponseEntity.badRequest().build();
             }
             
             Class classObj = new Class();
@@ -239,53 +255,25 @@ public class ClassController {
     // Get class statistics
     @GetMapping("/{id}/stats")
     @PreAuthorize("hasRole('ADMIN') or @classService.isTeacherOfClass(#id, authentication.principal.id)")
-    @PostMapping("/mark")
-    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
-    public ResponseEntity<AttendanceDto.AttendanceResponse> markAttendance(
-            @Valid @RequestBody AttendanceDto.MarkAttendanceRequest request) {
+    public ResponseEntity<ClassDto.ClassStats> getClassStats(@PathVariable Long id) {
         try {
-            // Verify class exists and teacher has access
-            Class classObj = classService.findById(request.getClassId()).orElse(null);
+            Class classObj = classService.findById(id).orElse(null);
             if (classObj == null) {
                 return ResponseEntity.notFound().build();
             }
-
-            // Verify student exists
-            User student = userService.findById(request.getStudentId()).orElse(null);
-            if (student == null || student.getRole() != User.UserRole.STUDENT) {
-                return ResponseEntity.badRequest().build();
-            }
-
-            // Check if attendance already exists for this student, class, and date
-            Attendance existingAttendance = attendanceService.findByStudentAndClassAndDate(
-                    request.getStudentId(), request.getClassId(), request.getDate());
-
-            if (existingAttendance != null) {
-                // Update existing attendance
-                existingAttendance.setStatus(request.getStatus());
-                existingAttendance.setTimeIn(request.getTimeIn());
-                existingAttendance.setTimeOut(request.getTimeOut());
-                existingAttendance.setNotes(request.getNotes());
-                existingAttendance.setMarkedBy(request.getMarkedBy());
-                existingAttendance.setUpdatedAt(LocalDateTime.now());
-
-                Attendance updatedAttendance = attendanceService.save(existingAttendance);
-                return ResponseEntity.ok(convertToAttendanceResponse(updatedAttendance));
-            } else {
-                // Create new attendance record
-                Attendance attendance = new Attendance();
-                attendance.setStudent(student);
-                attendance.setClassObj(classObj);
-                attendance.setDate(request.getDate());
-                attendance.setStatus(request.getStatus());
-                attendance.setTimeIn(request.getTimeIn());
-                attendance.setTimeOut(request.getTimeOut());
-                attendance.setNotes(request.getNotes());
-                attendance.setMarkedBy(request.getMarkedBy());
-
-                Attendance savedAttendance = attendanceService.save(attendance);
-                return ResponseEntity.ok(convertToAttendanceResponse(savedAttendance));
-            }
+            
+            int enrolled = (int) classService.countEnrollments(id);
+            int maxStudents = classObj.getMaxStudents() != null ? classObj.getMaxStudents() : 0;
+            
+            ClassDto.ClassStats stats = new ClassDto.ClassStats();
+            stats.setClassId(classObj.getId());
+            stats.setClassName(classObj.getClassName());
+            stats.setTotalStudents(enrolled);
+            stats.setMaxStudents(maxStudents);
+            stats.setEnrollmentPercentage(maxStudents > 0 ? (double) enrolled / maxStudents * 100 : 0.0);
+            stats.setActive(classObj.isActive());
+            
+            return ResponseEntity.ok(stats);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -5,11 +5,15 @@ import com.example.studentattendance.models.Class;
 import com.example.studentattendance.models.User;
 import com.example.studentattendance.services.AttendanceService;
 import com.example.studentattendance.services.ClassService;
+import com.example.studentattendance.services.RealtimeDashboardService;
+import com.example.studentattendance.services.SystemMetricsService;
 import com.example.studentattendance.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -31,6 +35,12 @@ public class DashboardController {
     @Autowired
     private AttendanceService attendanceService;
     
+    @Autowired
+    private SystemMetricsService systemMetricsService;
+    
+    @Autowired
+    private RealtimeDashboardService realtimeDashboardService;
+    
     // Get comprehensive dashboard overview
     @GetMapping("/overview")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STUDENT')")
@@ -39,14 +49,14 @@ public class DashboardController {
             DashboardDto.DashboardData dashboardData = new DashboardDto.DashboardData();
             
             // Get total classes
-            dashboardData.setTotalClasses(classService.countActiveClasses());
+            dashboardData.setTotalClasses((int) classService.countActiveClasses());
             
             // Get total students
-            dashboardData.setTotalStudents(userService.countByRole(User.UserRole.STUDENT));
+            dashboardData.setTotalStudents((int) userService.countByRole(User.UserRole.STUDENT));
             
             // Get today's attendance
             LocalDate today = LocalDate.now();
-            int todayAttendance = attendanceService.getTodayAttendanceCount();
+            int todayAttendance = (int) attendanceService.getTodayAttendanceCount();
             dashboardData.setTodayAttendance(todayAttendance);
             
             // Get average attendance percentage
@@ -192,9 +202,9 @@ public class DashboardController {
             
             // Performance metrics
             DashboardDto.PerformanceMetrics performanceMetrics = new DashboardDto.PerformanceMetrics();
-            performanceMetrics.setAverageResponseTime(attendanceService.getAverageResponseTime());
-            performanceMetrics.setSystemUptime(attendanceService.getSystemUptime());
-            performanceMetrics.setDatabaseConnections(attendanceService.getDatabaseConnections());
+            performanceMetrics.setAverageResponseTime(systemMetricsService.getAverageResponseTime());
+            performanceMetrics.setSystemUptime(systemMetricsService.getSystemUptime());
+            performanceMetrics.setDatabaseConnections(systemMetricsService.getDatabaseConnections());
             adminDashboard.setPerformanceMetrics(performanceMetrics);
             
             return ResponseEntity.ok(adminDashboard);
@@ -209,31 +219,20 @@ public class DashboardController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     public ResponseEntity<DashboardDto.RealTimeData> getRealTimeData() {
         try {
-            DashboardDto.RealTimeData realTimeData = new DashboardDto.RealTimeData();
-            
-            // Current time
-            realTimeData.setCurrentTime(LocalDateTime.now());
-            
-            // Active sessions
-            realTimeData.setActiveSessions(userService.getActiveSessionsCount());
-            
-            // Today's attendance updates
-            realTimeData.setTodayAttendanceUpdates(attendanceService.getTodayAttendanceUpdatesCount());
-            
-            // Recent logins
-            realTimeData.setRecentLogins(userService.getRecentLogins(1)); // Last hour
-            
-            // System alerts
-            List<DashboardDto.SystemAlert> systemAlerts = getSystemAlerts();
-            realTimeData.setSystemAlerts(systemAlerts);
-            
-            return ResponseEntity.ok(realTimeData);
-            
+            // Shared snapshot, recomputed only after attendance changes or when it ages out
+            return ResponseEntity.ok(realtimeDashboardService.getSnapshot());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    // Stream real-time dashboard updates (Server-Sent Events)
+    @GetMapping(value = "/realtime/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    public SseEmitter streamRealTimeData() {
+        return realtimeDashboardService.subscribe();
+    }
+    
     // Get dashboard widgets data
     @GetMapping("/widgets")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STUDENT')")
@@ -291,16 +290,6 @@ public class DashboardController {
         return activities;
     }
     
-    private List<DashboardDto.SystemAlert> getSystemAlerts() {
-        List<DashboardDto.SystemAlert> alerts = new ArrayList<>();
-        
-        // Add sample system alerts
-        alerts.add(createMockSystemAlert("HIGH_ATTENDANCE", "High attendance rate detected today", "INFO"));
-        alerts.add(createMockSystemAlert("SYSTEM_PERFORMANCE", "System performance is optimal", "SUCCESS"));
-        
-        return alerts;
-    }
-    
     private DashboardDto.RecentActivity createMockActivity(String type, String description, String userId, String userName) {
         DashboardDto.RecentActivity activity = new DashboardDto.RecentActivity();
         activity.setType(type);
@@ -319,13 +308,4 @@ public class DashboardController {
         activity.setTimestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         return activity;
     }
-    
-    private DashboardDto.SystemAlert createMockSystemAlert(String type, String message, String severity) {
-        DashboardDto.SystemAlert alert = new DashboardDto.SystemAlert();
-        alert.setType(type);
-        alert.setMessage(message);
-        alert.setSeverity(severity);
-        alert.setTimestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        return alert;
-    }
 }
@@ -1,23 +1,31 @@
 package com.example.studentattendance.controllers;
 
 import com.example.studentattendance.dto.ReportsDto;
+import com.example.studentattendance.services.AttendanceExportService;
+import com.example.studentattendance.services.AttendanceHeatmapService;
+import com.example.studentattendance.services.AttendanceRollupService;
 import com.example.studentattendance.services.AttendanceService;
 import com.example.studentattendance.services.ClassService;
+import com.example.studentattendance.services.ReportSchedulerService;
+import com.example.studentattendance.services.SystemMetricsService;
 import com.example.studentattendance.services.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.ConstraintViolation;
-import javax.validation.ConstraintViolationException;
-import javax.validation.Valid;
-import javax.validation.constraints.Min;
-import javax.validation.constraints.NotNull;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import java.util.Set;
 import java.time.LocalDate;
 import java.util.List;
@@ -31,13 +39,25 @@ public class ReportsController {
     private static final Logger logger = LoggerFactory.getLogger(ReportsController.class);
 
     private final AttendanceService attendanceService;
+    private final AttendanceRollupService rollupService;
+    private final AttendanceExportService exportService;
+    private final ReportSchedulerService reportSchedulerService;
+    private final SystemMetricsService systemMetricsService;
     private final ClassService classService;
     private final UserService userService;
 
     public ReportsController(AttendanceService attendanceService,
+            AttendanceRollupService rollupService,
+            AttendanceExportService exportService,
+            ReportSchedulerService reportSchedulerService,
+            SystemMetricsService systemMetricsService,
             ClassService classService,
             UserService userService) {
         this.attendanceService = attendanceService;
+        this.rollupService = rollupService;
+        this.exportService = exportService;
+        this.reportSchedulerService = reportSchedulerService;
+        this.systemMetricsService = systemMetricsService;
         this.classService = classService;
         this.userService = userService;
     }
@@ -269,9 +289,11 @@ public class ReportsController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     public ResponseEntity<ReportsDto.AttendanceHeatmapReport> getAttendanceHeatmapReport(
             @RequestParam(defaultValue = "30") @Min(value = 1, message = "Days must be at least 1") int days,
-            @RequestParam(required = false) Long classId) {
+            @RequestParam(required = false) Long classId,
+            @RequestParam(defaultValue = AttendanceHeatmapService.LAYOUT_WEEKDAY_HOUR) String layout) {
         try {
-            logger.info("Generating attendance heatmap report for {} days, classId: {}", days, classId);
+            logger.info("Generating attendance heatmap report for {} days, classId: {}, layout: {}",
+                    days, classId, layout);
 
             if (days > 365) {
                 logger.warn("Days parameter {} exceeds maximum allowed (365)", days);
@@ -282,7 +304,7 @@ public class ReportsController {
             LocalDate startDate = endDate.minusDays(days);
 
             ReportsDto.AttendanceHeatmapReport report = attendanceService.generateAttendanceHeatmapReport(
-                    startDate, endDate, classId);
+                    startDate, endDate, classId, layout);
 
             logger.info("Successfully generated attendance heatmap report");
             return ResponseEntity.ok(report);
@@ -369,10 +391,10 @@ public class ReportsController {
         }
     }
 
-    // Get attendance export report (CSV/Excel format)
+    // Stream attendance export (CSV or NDJSON format)
     @GetMapping("/export/attendance")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
-    public ResponseEntity<ReportsDto.AttendanceExportReport> getAttendanceExportReport(
+    public ResponseEntity<StreamingResponseBody> getAttendanceExportReport(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @NotNull LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @NotNull LocalDate endDate,
             @RequestParam(required = false) Long classId,
@@ -387,16 +409,23 @@ public class ReportsController {
                 return ResponseEntity.badRequest().build();
             }
 
-            if (format != null && !format.matches("^(csv|excel|xlsx)$")) {
+            if (format == null || !format.matches("^(csv|ndjson)$")) {
                 logger.warn("Invalid export format: {}", format);
                 return ResponseEntity.badRequest().build();
             }
 
-            ReportsDto.AttendanceExportReport report = attendanceService.generateAttendanceExportReport(
-                    startDate, endDate, classId, studentId, format);
-
-            logger.info("Successfully generated attendance export report");
-            return ResponseEntity.ok(report);
+            boolean ndjson = AttendanceExportService.FORMAT_NDJSON.equals(format);
+            String fileName = "attendance_" + startDate + "_" + endDate + (ndjson ? ".ndjson" : ".csv");
+            StreamingResponseBody body = out -> {
+                long rows = exportService.exportAttendance(startDate, endDate, classId, studentId, format, out);
+                logger.info("Successfully streamed attendance export with {} rows", rows);
+            };
+
+            return ResponseEntity.ok()
+                    .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson")
+                            : MediaType.parseMediaType("text/csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                    .body(body);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid parameters for attendance export report: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -423,9 +452,11 @@ public class ReportsController {
             report.setTotalAttendanceRecords(attendanceService.countAll());
 
             // Performance metrics
-            report.setAverageResponseTime(attendanceService.getAverageResponseTime());
-            report.setSystemUptime(attendanceService.getSystemUptime());
-            report.setDatabaseConnections(attendanceService.getDatabaseConnections());
+            report.setAverageResponseTime(systemMetricsService.getAverageResponseTime());
+            report.setSystemUptime(systemMetricsService.getSystemUptime());
+            report.setDatabaseConnections(systemMetricsService.getDatabaseConnections());
+            report.setRecentLogins(systemMetricsService.getRecentLogins(24));
+            report.setRecentAttendanceMarks(systemMetricsService.getRecentAttendanceMarks(24));
 
             logger.info("Successfully generated system health report");
             return ResponseEntity.ok(report);
@@ -435,6 +466,23 @@ public class ReportsController {
         }
     }
 
+    // Rebuild the daily attendance rollup from the attendance table
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> rebuildAttendanceRollup() {
+        try {
+            logger.info("Rebuilding attendance daily rollup");
+
+            int buckets = rollupService.rebuild();
+
+            logger.info("Successfully rebuilt attendance daily rollup with {} buckets", buckets);
+            return ResponseEntity.ok("Rebuilt " + buckets + " rollup buckets");
+        } catch (Exception e) {
+            logger.error("Error rebuilding attendance daily rollup", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Get custom report
     @PostMapping("/custom")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
@@ -491,7 +539,7 @@ public class ReportsController {
                 return ResponseEntity.badRequest().build();
             }
 
-            ReportsDto.ScheduledReportResponse response = attendanceService.scheduleReport(request);
+            ReportsDto.ScheduledReportResponse response = reportSchedulerService.scheduleReport(request);
 
             logger.info("Successfully scheduled report with ID: {}", response.getId());
             return ResponseEntity.ok(response);
@@ -511,7 +559,7 @@ public class ReportsController {
         try {
             logger.info("Retrieving scheduled reports");
 
-            List<ReportsDto.ScheduledReportResponse> reports = attendanceService.getScheduledReports();
+            List<ReportsDto.ScheduledReportResponse> reports = reportSchedulerService.getScheduledReports();
 
             logger.info("Successfully retrieved {} scheduled reports", reports.size());
             return ResponseEntity.ok(reports);
@@ -533,7 +581,7 @@ public class ReportsController {
                 return ResponseEntity.badRequest().build();
             }
 
-            attendanceService.cancelScheduledReport(id);
+            reportSchedulerService.cancelScheduledReport(id);
 
             logger.info("Successfully cancelled scheduled report: {}", id);
             return ResponseEntity.ok().build();
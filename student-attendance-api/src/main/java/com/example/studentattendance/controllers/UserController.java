@@ -2,8 +2,12 @@ package com.example.studentattendance.controllers;
 
 import com.example.studentattendance.dto.UserDto;
 import com.example.studentattendance.models.User;
+import com.example.studentattendance.security.PasswordHashingRejectedException;
+import com.example.studentattendance.services.KeysetPage;
 import com.example.studentattendance.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -14,7 +18,7 @@ import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/users")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = KeysetPage.NEXT_CURSOR_HEADER)
 public class UserController {
 
     @Autowired
@@ -23,13 +27,25 @@ public class UserController {
     // Get all users (Admin only)
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDto.UserResponse>> getAllUsers() {
+    public ResponseEntity<List<UserDto.UserResponse>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<User> users = userService.findAll();
-            List<UserDto.UserResponse> userResponses = users.stream()
-                    .map(this::convertToUserResponse)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(userResponses);
+            // Without paging parameters keep returning the full list for existing clients
+            if (cursor == null && limit == null) {
+                return ResponseEntity.ok(userService.findAll().stream()
+                        .map(this::convertToUserResponse)
+                        .collect(Collectors.toList()));
+            }
+            KeysetPage<UserDto.UserResponse> page = userService.findPage(cursor, limit)
+                    .map(this::convertToUserResponse);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNext()) {
+                response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -71,13 +87,16 @@ public class UserController {
     // Search users
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
-    public ResponseEntity<List<UserDto.UserResponse>> searchUsers(@RequestParam String query) {
+    public ResponseEntity<List<UserDto.UserResponse>> searchUsers(@RequestParam String query,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<User> users = userService.searchUsers(query);
+            List<User> users = userService.searchUsers(query, limit);
             List<UserDto.UserResponse> userResponses = users.stream()
                     .map(this::convertToUserResponse)
                     .collect(Collectors.toList());
             return ResponseEntity.ok(userResponses);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -120,6 +139,8 @@ public class UserController {
 
             User savedUser = userService.save(user);
             return ResponseEntity.ok(convertToUserResponse(savedUser));
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -165,6 +186,8 @@ public class UserController {
                 return ResponseEntity.ok().build();
             }
             return ResponseEntity.badRequest().body("Current password is incorrect");
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
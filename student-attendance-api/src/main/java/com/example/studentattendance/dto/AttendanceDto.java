@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public class AttendanceDto {
     
@@ -159,6 +160,27 @@ public class AttendanceDto {
         public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     }
     
+    // Per-row result of a bulk attendance request
+    public static class BulkAttendanceResult {
+        private Long studentId;
+        private String result; // CREATED, UPDATED or SKIPPED
+        private String message;
+        private AttendanceResponse attendance;
+        
+        // Getters and Setters
+        public Long getStudentId() { return studentId; }
+        public void setStudentId(Long studentId) { this.studentId = studentId; }
+        
+        public String getResult() { return result; }
+        public void setResult(String result) { this.result = result; }
+        
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+        
+        public AttendanceResponse getAttendance() { return attendance; }
+        public void setAttendance(AttendanceResponse attendance) { this.attendance = attendance; }
+    }
+    
     // Class Attendance Statistics
     public static class ClassAttendanceStats {
         private Long classId;
@@ -369,4 +391,94 @@ public class AttendanceDto {
         public double getAttendancePercentage() { return attendancePercentage; }
         public void setAttendancePercentage(double attendancePercentage) { this.attendancePercentage = attendancePercentage; }
     }
+    
+    // Columnar attendance page: row i is index i of every per-row array. Names are
+    // dictionary-encoded (per-row refs into small lists), dates are day offsets from
+    // baseDate and statuses are one byte each (base64 in JSON) indexing statusValues.
+    public static class ColumnarAttendanceResponse {
+        public static final String MEDIA_TYPE = "application/vnd.attendance.columnar+json";
+        public static final String FORMAT = "columnar";
+        
+        private int rowCount;
+        private LocalDate baseDate;
+        private LocalDateTime baseUpdatedAt;
+        private long[] ids;
+        private int[] dayOffsets;
+        private byte[] statuses;
+        private List<String> statusValues;
+        private int[] studentRefs;
+        private long[] studentIds;
+        private List<String> studentNames;
+        private int[] classRefs;
+        private long[] classIds;
+        private List<String> classNames;
+        private short[] timeInMinutes;
+        private short[] timeOutMinutes;
+        private int[] markedByRefs;
+        private List<String> markedByValues;
+        private int[] updatedAtSeconds;
+        private Map<Integer, String> notes;
+        
+        // Getters and Setters
+        public int getRowCount() { return rowCount; }
+        public void setRowCount(int rowCount) { this.rowCount = rowCount; }
+        
+        public LocalDate getBaseDate() { return baseDate; }
+        public void setBaseDate(LocalDate baseDate) { this.baseDate = baseDate; }
+        
+        public LocalDateTime getBaseUpdatedAt() { return baseUpdatedAt; }
+        public void setBaseUpdatedAt(LocalDateTime baseUpdatedAt) { this.baseUpdatedAt = baseUpdatedAt; }
+        
+        public long[] getIds() { return ids; }
+        public void setIds(long[] ids) { this.ids = ids; }
+        
+        public int[] getDayOffsets() { return dayOffsets; }
+        public void setDayOffsets(int[] dayOffsets) { this.dayOffsets = dayOffsets; }
+        
+        public byte[] getStatuses() { return statuses; }
+        public void setStatuses(byte[] statuses) { this.statuses = statuses; }
+        
+        public List<String> getStatusValues() { return statusValues; }
+        public void setStatusValues(List<String> statusValues) { this.statusValues = statusValues; }
+        
+        public int[] getStudentRefs() { return studentRefs; }
+        public void setStudentRefs(int[] studentRefs) { this.studentRefs = studentRefs; }
+        
+        public long[] getStudentIds() { return studentIds; }
+        public void setStudentIds(long[] studentIds) { this.studentIds = studentIds; }
+        
+        public List<String> getStudentNames() { return studentNames; }
+        public void setStudentNames(List<String> studentNames) { this.studentNames = studentNames; }
+        
+        public int[] getClassRefs() { return classRefs; }
+        public void setClassRefs(int[] classRefs) { this.classRefs = classRefs; }
+        
+        public long[] getClassIds() { return classIds; }
+        public void setClassIds(long[] classIds) { this.classIds = classIds; }
+        
+        public List<String> getClassNames() { return classNames; }
+        public void setClassNames(List<String> classNames) { this.classNames = classNames; }
+        
+        // Minutes since midnight, -1 when not recorded
+        public short[] getTimeInMinutes() { return timeInMinutes; }
+        public void setTimeInMinutes(short[] timeInMinutes) { this.timeInMinutes = timeInMinutes; }
+        
+        public short[] getTimeOutMinutes() { return timeOutMinutes; }
+        public void setTimeOutMinutes(short[] timeOutMinutes) { this.timeOutMinutes = timeOutMinutes; }
+        
+        // -1 when not recorded
+        public int[] getMarkedByRefs() { return markedByRefs; }
+        public void setMarkedByRefs(int[] markedByRefs) { this.markedByRefs = markedByRefs; }
+        
+        public List<String> getMarkedByValues() { return markedByValues; }
+        public void setMarkedByValues(List<String> markedByValues) { this.markedByValues = markedByValues; }
+        
+        // Seconds after baseUpdatedAt, -1 when not recorded
+        public int[] getUpdatedAtSeconds() { return updatedAtSeconds; }
+        public void setUpdatedAtSeconds(int[] updatedAtSeconds) { this.updatedAtSeconds = updatedAtSeconds; }
+        
+        // Sparse: row index -> note, only rows that have one
+        public Map<Integer, String> getNotes() { return notes; }
+        public void setNotes(Map<Integer, String> notes) { this.notes = notes; }
+    }
 }
@@ -346,7 +346,7 @@ public class DashboardDto {
         private LocalDateTime currentTime;
         private int activeSessions;
         private int todayAttendanceUpdates;
-        private List<String> recentLogins;
+        private List<Integer> recentLogins;
         private List<SystemAlert> systemAlerts;
         
         // Getters and Setters
@@ -359,8 +359,8 @@ public class DashboardDto {
         public int getTodayAttendanceUpdates() { return todayAttendanceUpdates; }
         public void setTodayAttendanceUpdates(int todayAttendanceUpdates) { this.todayAttendanceUpdates = todayAttendanceUpdates; }
         
-        public List<String> getRecentLogins() { return recentLogins; }
-        public void setRecentLogins(List<String> recentLogins) { this.recentLogins = recentLogins; }
+        public List<Integer> getRecentLogins() { return recentLogins; }
+        public void setRecentLogins(List<Integer> recentLogins) { this.recentLogins = recentLogins; }
         
         public List<SystemAlert> getSystemAlerts() { return systemAlerts; }
         public void setSystemAlerts(List<SystemAlert> systemAlerts) { this.systemAlerts = systemAlerts; }
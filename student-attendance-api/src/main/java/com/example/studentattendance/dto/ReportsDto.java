@@ -214,6 +214,10 @@ public class ReportsDto {
         private LocalDate endDate;
         private int totalStudents;
         private int totalSessions;
+        private int totalRecords;
+        private int presentCount;
+        private int absentCount;
+        private int lateCount;
         private double averageAttendance;
         private List<StudentAttendanceSummary> studentSummaries;
         private Map<String, Double> dailyTrends;
@@ -243,6 +247,18 @@ public class ReportsDto {
         public int getTotalSessions() { return totalSessions; }
         public void setTotalSessions(int totalSessions) { this.totalSessions = totalSessions; }
         
+        public int getTotalRecords() { return totalRecords; }
+        public void setTotalRecords(int totalRecords) { this.totalRecords = totalRecords; }
+        
+        public int getPresentCount() { return presentCount; }
+        public void setPresentCount(int presentCount) { this.presentCount = presentCount; }
+        
+        public int getAbsentCount() { return absentCount; }
+        public void setAbsentCount(int absentCount) { this.absentCount = absentCount; }
+        
+        public int getLateCount() { return lateCount; }
+        public void setLateCount(int lateCount) { this.lateCount = lateCount; }
+        
         public double getAverageAttendance() { return averageAttendance; }
         public void setAverageAttendance(double averageAttendance) { this.averageAttendance = averageAttendance; }
         
@@ -400,6 +416,7 @@ public class ReportsDto {
         private int year;
         private double attendancePercentage;
         private int totalRecords;
+        private double movingAverage;
         
         // Getters and Setters
         public String getMonth() { return month; }
@@ -413,6 +430,9 @@ public class ReportsDto {
         
         public int getTotalRecords() { return totalRecords; }
         public void setTotalRecords(int totalRecords) { this.totalRecords = totalRecords; }
+        
+        public double getMovingAverage() { return movingAverage; }
+        public void setMovingAverage(double movingAverage) { this.movingAverage = movingAverage; }
     }
     
     // Weekly Trend
@@ -421,6 +441,7 @@ public class ReportsDto {
         private int year;
         private double attendancePercentage;
         private int totalRecords;
+        private double movingAverage;
         
         // Getters and Setters
         public String getWeek() { return week; }
@@ -434,6 +455,9 @@ public class ReportsDto {
         
         public int getTotalRecords() { return totalRecords; }
         public void setTotalRecords(int totalRecords) { this.totalRecords = totalRecords; }
+        
+        public double getMovingAverage() { return movingAverage; }
+        public void setMovingAverage(double movingAverage) { this.movingAverage = movingAverage; }
     }
     
     // Attendance Heatmap Report
@@ -443,6 +467,12 @@ public class ReportsDto {
         private Map<String, Map<String, Integer>> heatmapData;
         private List<String> timeSlots;
         private List<String> daysOfWeek;
+        // Compact grid: row-major counts, rowLabels.size() x columnLabels.size()
+        private String layout;
+        private List<String> rowLabels;
+        private List<String> columnLabels;
+        private int[] presentCounts;
+        private int[] totalCounts;
         
         // Getters and Setters
         public LocalDate getStartDate() { return startDate; }
@@ -459,6 +489,21 @@ public class ReportsDto {
         
         public List<String> getDaysOfWeek() { return daysOfWeek; }
         public void setDaysOfWeek(List<String> daysOfWeek) { this.daysOfWeek = daysOfWeek; }
+        
+        public String getLayout() { return layout; }
+        public void setLayout(String layout) { this.layout = layout; }
+        
+        public List<String> getRowLabels() { return rowLabels; }
+        public void setRowLabels(List<String> rowLabels) { this.rowLabels = rowLabels; }
+        
+        public List<String> getColumnLabels() { return columnLabels; }
+        public void setColumnLabels(List<String> columnLabels) { this.columnLabels = columnLabels; }
+        
+        public int[] getPresentCounts() { return presentCounts; }
+        public void setPresentCounts(int[] presentCounts) { this.presentCounts = presentCounts; }
+        
+        public int[] getTotalCounts() { return totalCounts; }
+        public void setTotalCounts(int[] totalCounts) { this.totalCounts = totalCounts; }
     }
     
     // Student Ranking Report
@@ -574,8 +619,8 @@ public class ReportsDto {
         private double averageResponseTime;
         private long systemUptime;
         private int databaseConnections;
-        private List<String> recentLogins;
-        private List<String> recentAttendanceMarks;
+        private List<Integer> recentLogins;
+        private List<Integer> recentAttendanceMarks;
         
         // Getters and Setters
         public long getTotalUsers() { return totalUsers; }
@@ -602,11 +647,11 @@ public class ReportsDto {
         public int getDatabaseConnections() { return databaseConnections; }
         public void setDatabaseConnections(int databaseConnections) { this.databaseConnections = databaseConnections; }
         
-        public List<String> getRecentLogins() { return recentLogins; }
-        public void setRecentLogins(List<String> recentLogins) { this.recentLogins = recentLogins; }
+        public List<Integer> getRecentLogins() { return recentLogins; }
+        public void setRecentLogins(List<Integer> recentLogins) { this.recentLogins = recentLogins; }
         
-        public List<String> getRecentAttendanceMarks() { return recentAttendanceMarks; }
-        public void setRecentAttendanceMarks(List<String> recentAttendanceMarks) { this.recentAttendanceMarks = recentAttendanceMarks; }
+        public List<Integer> getRecentAttendanceMarks() { return recentAttendanceMarks; }
+        public void setRecentAttendanceMarks(List<Integer> recentAttendanceMarks) { this.recentAttendanceMarks = recentAttendanceMarks; }
     }
     
     // Custom Report Request
@@ -734,6 +779,7 @@ public class ReportsDto {
         private String status;
         private LocalDateTime nextRun;
         private LocalDateTime lastRun;
+        private String outputFile;
         private boolean isActive;
         
         // Getters and Setters
@@ -758,6 +804,9 @@ public class ReportsDto {
         public LocalDateTime getLastRun() { return lastRun; }
         public void setLastRun(LocalDateTime lastRun) { this.lastRun = lastRun; }
         
+        public String getOutputFile() { return outputFile; }
+        public void setOutputFile(String outputFile) { this.outputFile = outputFile; }
+        
         public boolean isActive() { return isActive; }
         public void setActive(boolean active) { isActive = active; }
     }
@@ -17,18 +17,36 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_student_class_date", columnNames = { "student_id", "class_id", "date" })
+}, indexes = {
+        @Index(name = "idx_attendance_class_date", columnList = "class_id, date"),
+        @Index(name = "idx_attendance_student_date", columnList = "student_id, date"),
+        @Index(name = "idx_attendance_date_status", columnList = "date, status"),
+        @Index(name = "idx_attendance_updated_at", columnList = "updated_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Attendance {
 
+    // Table-backed ids are allocated in blocks so inserts can be JDBC-batched (IDENTITY disables batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "attendance_id_generator")
+    @TableGenerator(name = "attendance_id_generator", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "attendance", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Class is required")
@@ -68,6 +86,21 @@ public class Attendance {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: concurrent edits of one record fail instead of double-counting in the rollup
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Rollup bucket as last loaded from or written to the database
+    @Transient
+    private LocalDate persistedDate;
+
+    @Transient
+    private Long persistedClassId;
+
+    @Transient
+    private AttendanceStatus persistedStatus;
+
     // Constructors
     public Attendance() {
     }
@@ -168,6 +201,39 @@ public class Attendance {
         this.updatedAt = updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDate getPersistedDate() {
+        return persistedDate;
+    }
+
+    public Long getPersistedClassId() {
+        return persistedClassId;
+    }
+
+    public AttendanceStatus getPersistedStatus() {
+        return persistedStatus;
+    }
+
+    public boolean hasPersistedState() {
+        return persistedDate != null && persistedClassId != null && persistedStatus != null;
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    public void snapshotPersistedState() {
+        this.persistedDate = date;
+        this.persistedClassId = classObj != null ? classObj.getId() : null;
+        this.persistedStatus = status;
+    }
+
     // Helper methods
     public String getClassName() {
         return classObj != null ? classObj.getClassName() : "Unknown Class";
@@ -0,0 +1,88 @@
+package com.example.studentattendance.models;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// Pre-aggregated attendance counts per (date, class, status), kept in step with the attendance table
+@Entity
+@Table(name = "attendance_daily_rollup", uniqueConstraints = @UniqueConstraint(name = "uk_rollup_date_class_status", columnNames = {
+        "date", "class_id", "status" }))
+public class AttendanceDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "class_id", nullable = false)
+    private Long classId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Attendance.AttendanceStatus status;
+
+    @Column(name = "record_count", nullable = false)
+    private long recordCount;
+
+    // Constructors
+    public AttendanceDailyRollup() {
+    }
+
+    public AttendanceDailyRollup(LocalDate date, Long classId, Attendance.AttendanceStatus status) {
+        this.date = date;
+        this.classId = classId;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Long getClassId() {
+        return classId;
+    }
+
+    public void setClassId(Long classId) {
+        this.classId = classId;
+    }
+
+    public Attendance.AttendanceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Attendance.AttendanceStatus status) {
+        this.status = status;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public void setRecordCount(long recordCount) {
+        this.recordCount = recordCount;
+    }
+}
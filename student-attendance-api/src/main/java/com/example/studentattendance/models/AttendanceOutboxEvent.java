@@ -0,0 +1,98 @@
+package com.example.studentattendance.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// Append-only record of an attendance write, inserted in the writer's transaction and relayed after commit
+@Entity
+@Table(name = "attendance_outbox", uniqueConstraints = @UniqueConstraint(name = "uk_outbox_class_sequence", columnNames = {
+        "class_id", "seq_no" }), indexes = {
+                @Index(name = "idx_outbox_unpublished", columnList = "published_at, id")
+        })
+public class AttendanceOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "class_id", nullable = false)
+    private Long classId;
+
+    // Gap-free, increasing per class in commit order
+    @Column(name = "seq_no", nullable = false)
+    private long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private EventType eventType;
+
+    @Column(name = "attendance_id")
+    private Long attendanceId;
+
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    private Attendance.AttendanceStatus status;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    // Constructors
+    public AttendanceOutboxEvent() {
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getClassId() { return classId; }
+    public void setClassId(Long classId) { this.classId = classId; }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public EventType getEventType() { return eventType; }
+    public void setEventType(EventType eventType) { this.eventType = eventType; }
+
+    public Long getAttendanceId() { return attendanceId; }
+    public void setAttendanceId(Long attendanceId) { this.attendanceId = attendanceId; }
+
+    public Long getStudentId() { return studentId; }
+    public void setStudentId(Long studentId) { this.studentId = studentId; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public Attendance.AttendanceStatus getStatus() { return status; }
+    public void setStatus(Attendance.AttendanceStatus status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
+
+    // Enum for Event Type
+    public enum EventType {
+        UPSERTED,
+        DELETED
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.studentattendance.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Next outbox sequence number per class; locked for update while a writer allocates numbers
+@Entity
+@Table(name = "attendance_outbox_sequence")
+public class OutboxSequence {
+
+    @Id
+    @Column(name = "class_id")
+    private Long classId;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue = 1;
+
+    // Constructors
+    public OutboxSequence() {
+    }
+
+    public OutboxSequence(Long classId) {
+        this.classId = classId;
+    }
+
+    // Getters and Setters
+    public Long getClassId() { return classId; }
+    public void setClassId(Long classId) { this.classId = classId; }
+
+    public long getNextValue() { return nextValue; }
+    public void setNextValue(long nextValue) { this.nextValue = nextValue; }
+}
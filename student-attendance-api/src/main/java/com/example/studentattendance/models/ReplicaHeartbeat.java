@@ -0,0 +1,30 @@
+package com.example.studentattendance.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Single-row clock written on the primary and read on the replica to measure replication lag
+@Entity
+@Table(name = "replica_heartbeat")
+public class ReplicaHeartbeat {
+
+    @Id
+    private Long id;
+
+    // Epoch milliseconds of the last beat written on the primary
+    @Column(name = "beat_at_ms", nullable = false)
+    private long beatAtMs;
+
+    // Constructors
+    public ReplicaHeartbeat() {
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public long getBeatAtMs() { return beatAtMs; }
+    public void setBeatAtMs(long beatAtMs) { this.beatAtMs = beatAtMs; }
+}
@@ -0,0 +1,123 @@
+package com.example.studentattendance.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+@Entity
+@Table(name = "scheduled_reports", indexes = {
+        @Index(name = "idx_scheduled_reports_due", columnList = "is_active, next_run")
+})
+public class ScheduledReport {
+
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "report_type", nullable = false)
+    private String reportType;
+
+    // Spring cron expression (second minute hour day-of-month month day-of-week)
+    @Column(nullable = false)
+    private String schedule;
+
+    private String email;
+
+    // Report parameters serialized as JSON
+    @Lob
+    @Column(name = "parameters_json")
+    private String parametersJson;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status = JobStatus.SCHEDULED;
+
+    @Column(name = "is_active")
+    private boolean isActive = true;
+
+    @Column(name = "next_run")
+    private LocalDateTime nextRun;
+
+    @Column(name = "last_run")
+    private LocalDateTime lastRun;
+
+    @Column(name = "last_output_path")
+    private String lastOutputPath;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Optimistic lock: a save from a stale copy fails instead of undoing another instance's claim or cancel
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Constructors
+    public ScheduledReport() {
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getReportType() { return reportType; }
+    public void setReportType(String reportType) { this.reportType = reportType; }
+
+    public String getSchedule() { return schedule; }
+    public void setSchedule(String schedule) { this.schedule = schedule; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getParametersJson() { return parametersJson; }
+    public void setParametersJson(String parametersJson) { this.parametersJson = parametersJson; }
+
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    public boolean isActive() { return isActive; }
+    public void setActive(boolean active) { isActive = active; }
+
+    public LocalDateTime getNextRun() { return nextRun; }
+    public void setNextRun(LocalDateTime nextRun) { this.nextRun = nextRun; }
+
+    public LocalDateTime getLastRun() { return lastRun; }
+    public void setLastRun(LocalDateTime lastRun) { this.lastRun = lastRun; }
+
+    public String getLastOutputPath() { return lastOutputPath; }
+    public void setLastOutputPath(String lastOutputPath) { this.lastOutputPath = lastOutputPath; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    // Enum for Job Status
+    public enum JobStatus {
+        SCHEDULED,
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+}
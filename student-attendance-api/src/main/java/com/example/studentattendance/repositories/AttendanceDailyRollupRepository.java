@@ -0,0 +1,89 @@
+package com.example.studentattendance.repositories;
+
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.AttendanceDailyRollup;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface AttendanceDailyRollupRepository extends JpaRepository<AttendanceDailyRollup, Long> {
+
+    // Add a delta to a bucket, creating it when missing (MySQL/MariaDB)
+    @Modifying
+    @Query(value = "INSERT INTO attendance_daily_rollup (date, class_id, status, record_count) "
+            + "VALUES (:date, :classId, :status, GREATEST(0, :delta)) "
+            + "ON DUPLICATE KEY UPDATE record_count = GREATEST(0, record_count + :delta)", nativeQuery = true)
+    int upsertBucketOnDuplicateKey(@Param("date") LocalDate date,
+            @Param("classId") Long classId,
+            @Param("status") String status,
+            @Param("delta") long delta);
+
+    // Add a delta to a bucket, creating it when missing (H2, PostgreSQL and other MERGE dialects)
+    @Modifying
+    @Query(value = "MERGE INTO attendance_daily_rollup t USING (SELECT CAST(:date AS DATE) AS d, "
+            + "CAST(:classId AS BIGINT) AS c, CAST(:status AS VARCHAR(32)) AS st, CAST(:delta AS BIGINT) AS delta) s "
+            + "ON (t.date = s.d AND t.class_id = s.c AND t.status = s.st) "
+            + "WHEN MATCHED THEN UPDATE SET record_count = GREATEST(0, t.record_count + s.delta) "
+            + "WHEN NOT MATCHED THEN INSERT (date, class_id, status, record_count) "
+            + "VALUES (s.d, s.c, s.st, GREATEST(0, s.delta))", nativeQuery = true)
+    int mergeBucket(@Param("date") LocalDate date,
+            @Param("classId") Long classId,
+            @Param("status") String status,
+            @Param("delta") long delta);
+
+    // Get status counts by date range
+    @Query("SELECT r.status, SUM(r.recordCount) FROM AttendanceDailyRollup r WHERE r.date BETWEEN :startDate AND :endDate GROUP BY r.status")
+    List<Object[]> getStatusCountsByDateRange(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Get status counts by class and date range
+    @Query("SELECT r.status, SUM(r.recordCount) FROM AttendanceDailyRollup r WHERE r.classId = :classId AND r.date BETWEEN :startDate AND :endDate GROUP BY r.status")
+    List<Object[]> getStatusCountsByClassAndDateRange(@Param("classId") Long classId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Get daily status counts by date range
+    @Query("SELECT r.date, r.status, SUM(r.recordCount) FROM AttendanceDailyRollup r WHERE r.date BETWEEN :startDate AND :endDate GROUP BY r.date, r.status ORDER BY r.date")
+    List<Object[]> getDailyStatusCounts(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Get daily status counts by class and date range
+    @Query("SELECT r.date, r.status, SUM(r.recordCount) FROM AttendanceDailyRollup r WHERE r.classId = :classId AND r.date BETWEEN :startDate AND :endDate GROUP BY r.date, r.status ORDER BY r.date")
+    List<Object[]> getDailyStatusCountsByClass(@Param("classId") Long classId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Repopulate every bucket from the attendance table
+    @Modifying
+    @Query("INSERT INTO AttendanceDailyRollup (date, classId, status, recordCount) SELECT a.date, a.classObj.id, a.status, COUNT(a) FROM Attendance a GROUP BY a.date, a.classObj.id, a.status")
+    int rebuildFromAttendance();
+
+    // Number of attendance rows the rollup is built from
+    @Query("SELECT COUNT(a) FROM Attendance a")
+    long countAttendance();
+
+    // Classes with rollup rows in a date range, ascending
+    @Query("SELECT DISTINCT r.classId FROM AttendanceDailyRollup r WHERE r.date BETWEEN :startDate AND :endDate AND (:classId IS NULL OR r.classId = :classId) ORDER BY r.classId")
+    List<Long> findClassIdsByDateRange(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("classId") Long classId);
+
+    // Present and total counts per day and class: date, classId, present, total
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT r.date, r.classId, SUM(CASE WHEN r.status = :present THEN r.recordCount ELSE 0 END), SUM(r.recordCount) "
+            + "FROM AttendanceDailyRollup r WHERE r.date BETWEEN :startDate AND :endDate "
+            + "AND (:classId IS NULL OR r.classId = :classId) GROUP BY r.date, r.classId")
+    Stream<Object[]> streamDailyClassCounts(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("classId") Long classId,
+            @Param("present") Attendance.AttendanceStatus present);
+}
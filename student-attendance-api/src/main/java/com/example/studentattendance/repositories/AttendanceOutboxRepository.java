@@ -0,0 +1,38 @@
+package com.example.studentattendance.repositories;
+
+import com.example.studentattendance.models.AttendanceOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttendanceOutboxRepository extends JpaRepository<AttendanceOutboxEvent, Long> {
+
+    // Oldest unpublished events, locked so a second relay waits instead of publishing out of order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM AttendanceOutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<AttendanceOutboxEvent> findUnpublishedForUpdate(Pageable pageable);
+
+    // Keyset page of one class's log in sequence order (served by uk_outbox_class_sequence)
+    @Query("SELECT e FROM AttendanceOutboxEvent e WHERE e.classId = :classId AND (:afterSequence IS NULL OR e.sequence > :afterSequence) ORDER BY e.sequence")
+    List<AttendanceOutboxEvent> findClassPageAfter(@Param("classId") Long classId,
+            @Param("afterSequence") Long afterSequence,
+            Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE AttendanceOutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM AttendanceOutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,54 +1,94 @@
 package com.example.studentattendance.repositories;
 
 import com.example.studentattendance.models.Attendance;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
     // Find by student, class, and date
-    Attendance findByStudentIdAndClassIdAndDate(Long studentId, Long classId, LocalDate date);
+    @Query("SELECT a FROM Attendance a WHERE a.student.id = :studentId AND a.classObj.id = :classId AND a.date = :date")
+    Attendance findByStudentIdAndClassIdAndDate(@Param("studentId") Long studentId,
+            @Param("classId") Long classId,
+            @Param("date") LocalDate date);
+
+    // Find by class and date, with student and class fetched for response mapping
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.student JOIN FETCH a.classObj WHERE a.classObj.id = :classId AND a.date = :date")
+    List<Attendance> findByClassIdAndDate(@Param("classId") Long classId, @Param("date") LocalDate date);
+
+    // Find existing rows for a roster on a class and date
+    @Query("SELECT a FROM Attendance a WHERE a.classObj.id = :classId AND a.date = :date AND a.student.id IN :studentIds")
+    List<Attendance> findByClassIdAndDateAndStudentIdIn(@Param("classId") Long classId,
+            @Param("date") LocalDate date,
+            @Param("studentIds") Collection<Long> studentIds);
 
-    // Find by class and date
-    List<Attendance> findByClassIdAndDate(Long classId, LocalDate date);
+    // Find by student and date range, with student and class fetched for response mapping
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.student JOIN FETCH a.classObj WHERE a.student.id = :studentId AND a.date BETWEEN :startDate AND :endDate")
+    List<Attendance> findByStudentIdAndDateBetween(@Param("studentId") Long studentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 
-    // Find by student and date range
-    List<Attendance> findByStudentIdAndDateBetween(Long studentId, LocalDate startDate, LocalDate endDate);
+    // Find by class and date range, with student and class fetched for response mapping
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.student JOIN FETCH a.classObj WHERE a.classObj.id = :classId AND a.date BETWEEN :startDate AND :endDate")
+    List<Attendance> findByClassIdAndDateBetween(@Param("classId") Long classId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 
-    // Find by class and date range
-    List<Attendance> findByClassIdAndDateBetween(Long classId, LocalDate startDate, LocalDate endDate);
+    // Keyset page of a student's attendance in a date range, ordered by (date, id)
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.student JOIN FETCH a.classObj WHERE a.student.id = :studentId AND a.date BETWEEN :startDate AND :endDate AND (:afterDate IS NULL OR a.date > :afterDate OR (a.date = :afterDate AND a.id > :afterId)) ORDER BY a.date, a.id")
+    List<Attendance> findPageByStudentAndDateRange(@Param("studentId") Long studentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // Keyset page of a class's attendance in a date range, ordered by (date, id)
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.student JOIN FETCH a.classObj WHERE a.classObj.id = :classId AND a.date BETWEEN :startDate AND :endDate AND (:afterDate IS NULL OR a.date > :afterDate OR (a.date = :afterDate AND a.id > :afterId)) ORDER BY a.date, a.id")
+    List<Attendance> findPageByClassAndDateRange(@Param("classId") Long classId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 
     // Find by date range
     List<Attendance> findByDateBetween(LocalDate startDate, LocalDate endDate);
 
     // Find by date
-    List<Attendance> findByDate(LocalDate date);
-
-    // Find by class, student and date range
-    List<Attendance> findByClassIdAndStudentIdAndDateBetween(Long classId, Long studentId, LocalDate startDate,
-            LocalDate endDate);
-
-    // Find by date
-    List<Attendance> findByDate(LocalDate date);
+    @Query("SELECT a FROM Attendance a WHERE a.date = :date")
+    List<Attendance> findByDate(@Param("date") LocalDate date);
 
     // Find by class, student and date range
-    List<Attendance> findByClassIdAndStudentIdAndDateBetween(Long classId, Long studentId, LocalDate startDate,
-            LocalDate endDate);
-
-    // Find by date
-    List<Attendance> findByDate(LocalDate date);
+    @Query("SELECT a FROM Attendance a WHERE a.classObj.id = :classId AND a.student.id = :studentId AND a.date BETWEEN :startDate AND :endDate")
+    List<Attendance> findByClassIdAndStudentIdAndDateBetween(@Param("classId") Long classId,
+            @Param("studentId") Long studentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 
-    // Find by class, student and date range
-    List<Attendance> findByClassIdAndStudentIdAndDateBetween(Long classId, Long studentId, LocalDate startDate,
-            LocalDate endDate);
+    // Stream rows for export; callers must consume inside a read-only transaction and close the stream
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.student JOIN FETCH a.classObj WHERE a.date BETWEEN :startDate AND :endDate AND (:classId IS NULL OR a.classObj.id = :classId) AND (:studentId IS NULL OR a.student.id = :studentId) ORDER BY a.date, a.id")
+    Stream<Attendance> streamForExport(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("classId") Long classId,
+            @Param("studentId") Long studentId);
 
     // Find by teacher and date range
     @Query("SELECT a FROM Attendance a WHERE a.classObj.teacher.id = :teacherId AND a.date BETWEEN :startDate AND :endDate")
@@ -74,19 +114,30 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     @Query("SELECT COUNT(DISTINCT a.student.id) FROM Attendance a WHERE a.classObj.teacher.id = :teacherId")
     int countDistinctStudentsByTeacherId(@Param("teacherId") Long teacherId);
 
-    // Find recent by teacher
-    @Query("SELECT a FROM Attendance a WHERE a.classObj.teacher.id = :teacherId ORDER BY a.updatedAt DESC")
+    // Most recently updated rows in a teacher's classes, with student and class fetched
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.student JOIN FETCH a.classObj WHERE a.classObj.teacher.id = :teacherId ORDER BY a.updatedAt DESC, a.id DESC")
     List<Attendance> findRecentByTeacherId(@Param("teacherId") Long teacherId, Pageable pageable);
 
+    // Most recently updated rows across all classes, with student and class fetched
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.student JOIN FETCH a.classObj ORDER BY a.updatedAt DESC, a.id DESC")
+    List<Attendance> findRecentAttendances(Pageable pageable);
+
+    // A student's history, newest first, with the class fetched
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.classObj WHERE a.student.id = :studentId ORDER BY a.date DESC, a.id DESC")
+    List<Attendance> findByStudentIdOrderByDateDesc(@Param("studentId") Long studentId, Pageable pageable);
+
     // Find recent by student
     @Query("SELECT a FROM Attendance a WHERE a.student.id = :studentId ORDER BY a.date DESC")
     List<Attendance> findRecentByStudentId(@Param("studentId") Long studentId, Pageable pageable);
 
     // Find by student and class
-    List<Attendance> findByStudentIdAndClassId(Long studentId, Long classId);
+    @Query("SELECT a FROM Attendance a WHERE a.student.id = :studentId AND a.classObj.id = :classId")
+    List<Attendance> findByStudentIdAndClassId(@Param("studentId") Long studentId, @Param("classId") Long classId);
 
     // Find by class and status
-    List<Attendance> findByClassIdAndStatus(Long classId, Attendance.AttendanceStatus status);
+    @Query("SELECT a FROM Attendance a WHERE a.classObj.id = :classId AND a.status = :status")
+    List<Attendance> findByClassIdAndStatus(@Param("classId") Long classId,
+            @Param("status") Attendance.AttendanceStatus status);
 
     // Find by student and status
     List<Attendance> findByStudentIdAndStatus(Long studentId, Attendance.AttendanceStatus status);
@@ -95,7 +146,8 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     List<Attendance> findByDateAndStatus(LocalDate date, Attendance.AttendanceStatus status);
 
     // Count by class and status
-    int countByClassIdAndStatus(Long classId, Attendance.AttendanceStatus status);
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.classObj.id = :classId AND a.status = :status")
+    int countByClassIdAndStatus(@Param("classId") Long classId, @Param("status") Attendance.AttendanceStatus status);
 
     // Count by student and status
     int countByStudentIdAndStatus(Long studentId, Attendance.AttendanceStatus status);
@@ -105,8 +157,11 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
             Attendance.AttendanceStatus status);
 
     // Find by class and date range and status
-    List<Attendance> findByClassIdAndDateBetweenAndStatus(Long classId, LocalDate startDate, LocalDate endDate,
-            Attendance.AttendanceStatus status);
+    @Query("SELECT a FROM Attendance a WHERE a.classObj.id = :classId AND a.date BETWEEN :startDate AND :endDate AND a.status = :status")
+    List<Attendance> findByClassIdAndDateBetweenAndStatus(@Param("classId") Long classId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("status") Attendance.AttendanceStatus status);
 
     // Find by student and date range and status
     List<Attendance> findByStudentIdAndDateBetweenAndStatus(Long studentId, LocalDate startDate, LocalDate endDate,
@@ -122,7 +177,7 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     // Find by date and time range (for late attendance)
     @Query("SELECT a FROM Attendance a WHERE a.date = :date AND a.timeIn > :lateTime")
     List<Attendance> findByDateAndTimeInAfter(@Param("date") LocalDate date,
-            @Param("lateTime") String lateTime);
+            @Param("lateTime") LocalTime lateTime);
 
     // Find by student and month
     @Query("SELECT a FROM Attendance a WHERE a.student.id = :studentId AND YEAR(a.date) = :year AND MONTH(a.date) = :month")
@@ -154,6 +209,13 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    // Get attendance summary by class, student and date range
+    @Query("SELECT a.status, COUNT(a) FROM Attendance a WHERE a.classObj.id = :classId AND a.student.id = :studentId AND a.date BETWEEN :startDate AND :endDate GROUP BY a.status")
+    List<Object[]> getAttendanceSummaryByClassAndStudentAndDateRange(@Param("classId") Long classId,
+            @Param("studentId") Long studentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     // Get attendance summary by teacher and date range
     @Query("SELECT a.status, COUNT(a) FROM Attendance a WHERE a.classObj.teacher.id = :teacherId AND a.date BETWEEN :startDate AND :endDate GROUP BY a.status")
     List<Object[]> getAttendanceSummaryByTeacherAndDateRange(@Param("teacherId") Long teacherId,
@@ -170,7 +232,8 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     List<Attendance> findByDateAndMarkedBy(LocalDate date, String markedBy);
 
     // Find by class and marked by
-    List<Attendance> findByClassIdAndMarkedBy(Long classId, String markedBy);
+    @Query("SELECT a FROM Attendance a WHERE a.classObj.id = :classId AND a.markedBy = :markedBy")
+    List<Attendance> findByClassIdAndMarkedBy(@Param("classId") Long classId, @Param("markedBy") String markedBy);
 
     // Find by student and marked by
     List<Attendance> findByStudentIdAndMarkedBy(Long studentId, String markedBy);
@@ -189,4 +252,41 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     @Query("SELECT YEAR(a.date) as year, MONTH(a.date) as month, a.status, COUNT(a) FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate GROUP BY YEAR(a.date), MONTH(a.date), a.status ORDER BY year, month")
     List<Object[]> getMonthlyAttendanceCountByStatus(@Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    // Per-student status counts for ranking: studentId, present, absent, late, total
+    @Query("SELECT a.student.id, "
+            + "SUM(CASE WHEN a.status = :present THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.status = :absent THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.status = :late THEN 1 ELSE 0 END), "
+            + "COUNT(a) "
+            + "FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate "
+            + "AND (:classId IS NULL OR a.classObj.id = :classId) "
+            + "GROUP BY a.student.id")
+    List<Object[]> getStudentRankingCounts(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("classId") Long classId,
+            @Param("present") Attendance.AttendanceStatus present,
+            @Param("absent") Attendance.AttendanceStatus absent,
+            @Param("late") Attendance.AttendanceStatus late);
+
+    // Per-class counts for ranking: classId, present, total, distinct students, distinct sessions
+    @Query("SELECT a.classObj.id, "
+            + "SUM(CASE WHEN a.status = :present THEN 1 ELSE 0 END), "
+            + "COUNT(a), COUNT(DISTINCT a.student.id), COUNT(DISTINCT a.date) "
+            + "FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate "
+            + "GROUP BY a.classObj.id")
+    List<Object[]> getClassRankingCounts(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("present") Attendance.AttendanceStatus present);
+
+    // Check-in counts by date and hour of time in: date, hour, present, total
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT a.date, HOUR(a.timeIn), SUM(CASE WHEN a.status = :present THEN 1 ELSE 0 END), COUNT(a) "
+            + "FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate AND a.timeIn IS NOT NULL "
+            + "AND (:classId IS NULL OR a.classObj.id = :classId) "
+            + "GROUP BY a.date, HOUR(a.timeIn)")
+    Stream<Object[]> streamHourlyCounts(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("classId") Long classId,
+            @Param("present") Attendance.AttendanceStatus present);
 }
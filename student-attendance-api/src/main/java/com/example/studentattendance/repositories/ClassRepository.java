@@ -2,12 +2,14 @@ package com.example.studentattendance.repositories;
 
 import com.example.studentattendance.models.Class;
 import com.example.studentattendance.models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,7 +19,8 @@ public interface ClassRepository extends JpaRepository<Class, Long> {
     
     List<Class> findByTeacher(User teacher);
     
-    List<Class> findByTeacherId(Long teacherId);
+    @Query("SELECT c FROM Class c WHERE c.teacher.id = :teacherId")
+    List<Class> findByTeacherId(@Param("teacherId") Long teacherId);
     
     List<Class> findBySemester(String semester);
     
@@ -32,11 +35,47 @@ public interface ClassRepository extends JpaRepository<Class, Long> {
     @Query("SELECT c FROM Class c WHERE c.isActive = true AND c.schedule LIKE %:day%")
     List<Class> findByScheduleDay(@Param("day") String day);
     
-    @Query("SELECT c FROM Class c WHERE c.isActive = true AND c.createdAt >= :startDate AND c.createdAt <= :endDate")
-    List<Class> findUpcomingClasses(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @Query("SELECT c FROM Class c WHERE c.isActive = true AND c.teacher.id = :teacherId AND c.schedule LIKE %:day%")
+    List<Class> findByTeacherIdAndScheduleDay(@Param("teacherId") Long teacherId, @Param("day") String day);
     
-    @Query("SELECT c FROM Class c WHERE c.isActive = true AND (c.className LIKE %:searchTerm% OR c.subject LIKE %:searchTerm% OR c.description LIKE %:searchTerm%)")
-    List<Class> searchClasses(@Param("searchTerm") String searchTerm);
+    @Query("SELECT c FROM Class c WHERE c.isActive = true AND c.createdAt >= :start AND c.createdAt < :end")
+    List<Class> findUpcomingClasses(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    
+    // Classes a student is currently enrolled in
+    @Query("SELECT e.classObj FROM ClassEnrollment e WHERE e.user.id = :studentId AND e.status = com.example.studentattendance.models.ClassEnrollment$EnrollmentStatus.ENROLLED")
+    List<Class> findEnrolledByStudentId(@Param("studentId") Long studentId);
+    
+    @Query("SELECT e.classObj FROM ClassEnrollment e WHERE e.user.id = :studentId AND e.status = com.example.studentattendance.models.ClassEnrollment$EnrollmentStatus.ENROLLED "
+            + "AND e.classObj.isActive = true AND e.classObj.schedule LIKE %:day%")
+    List<Class> findEnrolledByStudentIdAndScheduleDay(@Param("studentId") Long studentId, @Param("day") String day);
+    
+    @Query("SELECT COUNT(e) > 0 FROM ClassEnrollment e WHERE e.classObj.id = :classId AND e.user.id = :studentId "
+            + "AND e.status = com.example.studentattendance.models.ClassEnrollment$EnrollmentStatus.ENROLLED")
+    boolean isStudentEnrolled(@Param("classId") Long classId, @Param("studentId") Long studentId);
+    
+    @Query("SELECT COUNT(c) > 0 FROM Class c WHERE c.id = :classId AND c.teacher.id = :teacherId")
+    boolean isTeacherOfClass(@Param("classId") Long classId, @Param("teacherId") Long teacherId);
+    
+    @Query("SELECT COUNT(DISTINCT e.user.id) FROM ClassEnrollment e WHERE e.status = com.example.studentattendance.models.ClassEnrollment$EnrollmentStatus.ENROLLED")
+    long countEnrolledStudents();
+    
+    @Query("SELECT COUNT(DISTINCT e.user.id) FROM ClassEnrollment e WHERE e.classObj.teacher.id = :teacherId "
+            + "AND e.status = com.example.studentattendance.models.ClassEnrollment$EnrollmentStatus.ENROLLED")
+    long countEnrolledStudentsByTeacherId(@Param("teacherId") Long teacherId);
+    
+    @Query("SELECT COUNT(e) FROM ClassEnrollment e WHERE e.status = com.example.studentattendance.models.ClassEnrollment$EnrollmentStatus.ENROLLED")
+    long countEnrollments();
+    
+    @Query("SELECT COUNT(e) FROM ClassEnrollment e WHERE e.classObj.id = :classId AND e.status = com.example.studentattendance.models.ClassEnrollment$EnrollmentStatus.ENROLLED")
+    long countEnrollmentsByClassId(@Param("classId") Long classId);
+    
+    // Active classes per subject: subject, count
+    @Query("SELECT c.subject, COUNT(c) FROM Class c WHERE c.isActive = true GROUP BY c.subject ORDER BY c.subject")
+    List<Object[]> countActiveClassesBySubject();
+    
+    // Searchable fields of active classes, for building the in-memory search index
+    @Query("SELECT c.id, c.className, c.subject, c.description FROM Class c WHERE c.isActive = true")
+    List<Object[]> findActiveSearchFields();
     
     @Query("SELECT COUNT(c) FROM Class c WHERE c.isActive = true")
     long countByIsActiveTrue();
@@ -46,4 +85,12 @@ public interface ClassRepository extends JpaRepository<Class, Long> {
     
     @Query("SELECT COUNT(c) FROM Class c WHERE c.semester = :semester AND c.academicYear = :academicYear")
     long countBySemesterAndAcademicYear(@Param("semester") String semester, @Param("academicYear") String academicYear);
+    
+    // Keyset page ordered by id
+    @Query("SELECT c FROM Class c WHERE (:afterId IS NULL OR c.id > :afterId) ORDER BY c.id")
+    List<Class> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Load classes with their teacher for report rows
+    @Query("SELECT c FROM Class c LEFT JOIN FETCH c.teacher WHERE c.id IN :ids")
+    List<Class> findWithTeacherByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,34 @@
+package com.example.studentattendance.repositories;
+
+import com.example.studentattendance.models.OutboxSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxSequenceRepository extends JpaRepository<OutboxSequence, Long> {
+
+    // Create a class sequence if missing (MySQL/MariaDB)
+    @Modifying
+    @Query(value = "INSERT INTO attendance_outbox_sequence (class_id, next_value) VALUES (:classId, 1) "
+            + "ON DUPLICATE KEY UPDATE class_id = class_id", nativeQuery = true)
+    int insertIfMissingOnDuplicateKey(@Param("classId") Long classId);
+
+    // Create a class sequence if missing (H2, PostgreSQL and other MERGE dialects)
+    @Modifying
+    @Query(value = "MERGE INTO attendance_outbox_sequence t USING (SELECT CAST(:classId AS BIGINT) AS c) s "
+            + "ON (t.class_id = s.c) WHEN NOT MATCHED THEN INSERT (class_id, next_value) VALUES (s.c, 1)",
+            nativeQuery = true)
+    int mergeIfMissing(@Param("classId") Long classId);
+
+    // Find a class sequence for update
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OutboxSequence s WHERE s.classId = :classId")
+    Optional<OutboxSequence> findForUpdate(@Param("classId") Long classId);
+}
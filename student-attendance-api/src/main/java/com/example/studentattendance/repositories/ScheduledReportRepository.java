@@ -0,0 +1,48 @@
+package com.example.studentattendance.repositories;
+
+import com.example.studentattendance.models.ScheduledReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduledReportRepository extends JpaRepository<ScheduledReport, Long> {
+
+    // Find active jobs whose next run is due
+    @Query("SELECT s FROM ScheduledReport s WHERE s.isActive = true AND s.nextRun <= :now ORDER BY s.nextRun")
+    List<ScheduledReport> findDue(@Param("now") LocalDateTime now);
+
+    // Claim a due job by advancing its next run; only the instance whose update still sees the
+    // next run it read gets 1, so each trigger is dispatched once across instances
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledReport s SET s.nextRun = :nextRun, "
+            + "s.status = com.example.studentattendance.models.ScheduledReport$JobStatus.QUEUED, "
+            + "s.version = s.version + 1 "
+            + "WHERE s.id = :id AND s.isActive = true AND s.nextRun = :dueAt")
+    int claimDue(@Param("id") Long id, @Param("dueAt") LocalDateTime dueAt, @Param("nextRun") LocalDateTime nextRun);
+
+    // Deactivate a job; returns 0 when it does not exist
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledReport s SET s.isActive = false, s.nextRun = null, "
+            + "s.status = com.example.studentattendance.models.ScheduledReport$JobStatus.CANCELLED, "
+            + "s.version = s.version + 1 WHERE s.id = :id")
+    int cancel(@Param("id") Long id);
+
+    // Move a queued job to RUNNING; a no-op once it has finished or been cancelled
+    @Modifying
+    @Transactional
+    @Query("UPDATE ScheduledReport s SET s.status = com.example.studentattendance.models.ScheduledReport$JobStatus.RUNNING, "
+            + "s.version = s.version + 1 WHERE s.id = :id AND s.status = com.example.studentattendance.models.ScheduledReport$JobStatus.QUEUED")
+    int markRunning(@Param("id") Long id);
+
+    // Find all jobs, newest first
+    List<ScheduledReport> findAllByOrderByCreatedAtDesc();
+}
@@ -1,11 +1,13 @@
 package com.example.studentattendance.repositories;
 
 import com.example.studentattendance.models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,12 +35,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.isActive = true")
     List<User> findActiveUsersByRole(@Param("role") User.UserRole role);
     
-    @Query("SELECT u FROM User u WHERE u.username LIKE %:searchTerm% OR u.firstName LIKE %:searchTerm% OR u.lastName LIKE %:searchTerm%")
-    List<User> searchUsers(@Param("searchTerm") String searchTerm);
+    // Searchable fields of every user, for building the in-memory search index
+    @Query("SELECT u.id, u.username, u.firstName, u.lastName FROM User u")
+    List<Object[]> findSearchFields();
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     long countByRole(@Param("role") User.UserRole role);
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.isActive = true")
     long countActiveUsers();
+    
+    @Query("SELECT COUNT(u) FROM User u WHERE u.isActive = true AND u.lastLogin > :since")
+    long countActiveUsersLoggedInSince(@Param("since") LocalDateTime since);
+    
+    // Last-login timestamps at or after the given instant
+    @Query("SELECT u.lastLogin FROM User u WHERE u.lastLogin >= :since")
+    List<LocalDateTime> findLastLoginsSince(@Param("since") LocalDateTime since);
+    
+    // Keyset page ordered by id
+    @Query("SELECT u FROM User u WHERE (:afterId IS NULL OR u.id > :afterId) ORDER BY u.id")
+    List<User> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,92 @@
+package com.example.studentattendance.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.studentattendance.models.User;
+
+/**
+ * Security principal for an application user. Exposes the user id so method security
+ * expressions can use {@code authentication.principal.id}, and a credentials version
+ * derived from the password hash so tokens issued before a password change can be
+ * rejected without a token blacklist.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final User.UserRole role;
+    private final boolean active;
+    private final String credentialsVersion;
+    private final List<GrantedAuthority> authorities;
+
+    private AuthenticatedUser(Long id, String username, String password, User.UserRole role, boolean active,
+            String credentialsVersion) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.active = active;
+        this.credentialsVersion = credentialsVersion;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), user.getRole(),
+                user.isActive(), credentialsVersionOf(user.getPassword()));
+    }
+
+    // Copy without the password hash, for principals held in memory between requests
+    public AuthenticatedUser withoutPassword() {
+        return new AuthenticatedUser(id, username, null, role, active, credentialsVersion);
+    }
+
+    // Short fingerprint of the password hash; changes whenever the password does
+    static String credentialsVersionOf(String passwordHash) {
+        if (passwordHash == null) {
+            return "";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(passwordHash.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Long getId() { return id; }
+
+    public User.UserRole getRole() { return role; }
+
+    public String getCredentialsVersion() { return credentialsVersion; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public String getUsername() { return username; }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return active; }
+}
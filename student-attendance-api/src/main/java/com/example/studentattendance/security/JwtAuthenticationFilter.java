@@ -1,6 +1,7 @@
 package com.example.studentattendance.security;
 
 import com.example.studentattendance.services.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -34,22 +34,16 @@ protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull Ht
         throws ServletException, IOException {
 
     try {
-        final String authorizationHeader = request.getHeader("Authorization");
+        final String jwt = jwtUtil.extractTokenFromHeader(request.getHeader("Authorization"));
         
-        String username = null;
-        String jwt = null;
-        
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
-        
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
+        if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // One parse verifies signature and expiry and yields every claim we need
+            Claims claims = jwtUtil.parseToken(jwt);
+            AuthenticatedUser user = claims != null ? userService.loadAuthenticatedUser(claims.getSubject()) : null;
             
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (user != null && user.isEnabled() && jwtUtil.matchesPrincipal(claims, user)) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
+                    user, null, user.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
@@ -2,11 +2,13 @@ package com.example.studentattendance.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -15,6 +17,10 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
     
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_CREDENTIALS_VERSION = "cv";
+    
     @Value("${jwt.secret}")
     private String secret;
     
@@ -24,9 +30,16 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
     
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Key and parser are immutable and thread-safe, so build them once
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
     
     public String extractUsername(String token) {
@@ -43,11 +56,25 @@ public class JwtUtil {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+    
+    // Verify signature and expiry in a single parse; returns null for any invalid or expired token
+    public Claims parseToken(String token) {
+        try {
+            return extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    // Reject tokens issued for a different account, an old role, or before the last password change
+    public boolean matchesPrincipal(Claims claims, AuthenticatedUser user) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        return userId != null
+                && userId.longValue() == user.getId()
+                && user.getRole().name().equals(claims.get(CLAIM_ROLE, String.class))
+                && user.getCredentialsVersion().equals(claims.get(CLAIM_CREDENTIALS_VERSION, String.class));
     }
     
     private Boolean isTokenExpired(String token) {
@@ -55,13 +82,21 @@ public class JwtUtil {
     }
     
     public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername(), expiration);
+        return createToken(principalClaims(userDetails), userDetails.getUsername(), expiration);
     }
     
     public String generateRefreshToken(UserDetails userDetails) {
+        return createToken(principalClaims(userDetails), userDetails.getUsername(), refreshExpiration);
+    }
+    
+    private Map<String, Object> principalClaims(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername(), refreshExpiration);
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_CREDENTIALS_VERSION, user.getCredentialsVersion());
+        }
+        return claims;
     }
     
     private String createToken(Map<String, Object> claims, String subject, long expiration) {
@@ -70,7 +105,7 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
@@ -80,15 +115,7 @@ public class JwtUtil {
     }
     
     public Boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseToken(token) != null;
     }
     
     public String extractTokenFromHeader(String header) {
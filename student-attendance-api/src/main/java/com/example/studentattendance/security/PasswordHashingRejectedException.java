@@ -0,0 +1,19 @@
+package com.example.studentattendance.security;
+
+// Thrown when the password hashing executor is saturated; controllers answer 429
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    // Authentication providers may wrap it, so look through the cause chain
+    public static boolean isCause(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof PasswordHashingRejectedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+
+// Published after attendance rows are written or deleted; count is the number of rows touched.
+// previousDate/previousClassId are where an edited row was stored before (null for new rows), so
+// listeners can also refresh the bucket it moved out of.
+public record AttendanceChangedEvent(LocalDate date, Long classId, LocalDate previousDate, Long previousClassId,
+        int count) {
+}
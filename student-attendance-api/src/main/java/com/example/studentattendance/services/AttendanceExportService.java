@@ -0,0 +1,146 @@
+package com.example.studentattendance.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.studentattendance.config.ReplicaLagTolerance;
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.repositories.AttendanceRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Streams attendance rows straight to an output stream as CSV or NDJSON. Rows are
+ * read through a forward-only JPA stream and the persistence context is cleared every
+ * {@link #CLEAR_INTERVAL} rows, so heap use stays flat however large the range is.
+ */
+@Service
+public class AttendanceExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    static final int CLEAR_INTERVAL = 500;
+
+    private static final String[] COLUMNS = { "id", "date", "student_id", "student_name", "class_id", "class_name",
+            "status", "time_in", "time_out", "marked_by", "notes" };
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @ReplicaLagTolerance(maxLagMs = ReplicaLagTolerance.REPORTS_MS)
+    @Transactional(readOnly = true)
+    public long exportAttendance(LocalDate startDate, LocalDate endDate, Long classId, Long studentId, String format,
+            OutputStream out) throws IOException {
+        try (Stream<Attendance> rows = attendanceRepository.streamForExport(startDate, endDate, classId, studentId)) {
+            if (FORMAT_NDJSON.equals(format)) {
+                return writeNdjson(rows.iterator(), out);
+            }
+            return writeCsv(rows.iterator(), out);
+        }
+    }
+
+    private long writeCsv(Iterator<Attendance> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Attendance attendance = rows.next();
+            writer.write(String.valueOf(attendance.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(attendance.getDate()));
+            writer.write(',');
+            writer.write(String.valueOf(attendance.getStudent().getId()));
+            writer.write(',');
+            writeCsvField(writer, attendance.getStudent().getFullName());
+            writer.write(',');
+            writer.write(String.valueOf(attendance.getClassObj().getId()));
+            writer.write(',');
+            writeCsvField(writer, attendance.getClassObj().getClassName());
+            writer.write(',');
+            writer.write(attendance.getStatus().name());
+            writer.write(',');
+            writeCsvField(writer, attendance.getTimeIn() != null ? attendance.getTimeIn().toString() : null);
+            writer.write(',');
+            writeCsvField(writer, attendance.getTimeOut() != null ? attendance.getTimeOut().toString() : null);
+            writer.write(',');
+            writeCsvField(writer, attendance.getMarkedBy());
+            writer.write(',');
+            writeCsvField(writer, attendance.getNotes());
+            writer.write('\n');
+
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Attendance> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Attendance attendance = rows.next();
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], attendance.getId());
+            generator.writeStringField(COLUMNS[1], String.valueOf(attendance.getDate()));
+            generator.writeNumberField(COLUMNS[2], attendance.getStudent().getId());
+            generator.writeStringField(COLUMNS[3], attendance.getStudent().getFullName());
+            generator.writeNumberField(COLUMNS[4], attendance.getClassObj().getId());
+            generator.writeStringField(COLUMNS[5], attendance.getClassObj().getClassName());
+            generator.writeStringField(COLUMNS[6], attendance.getStatus().name());
+            generator.writeStringField(COLUMNS[7], attendance.getTimeIn() != null ? attendance.getTimeIn().toString() : null);
+            generator.writeStringField(COLUMNS[8], attendance.getTimeOut() != null ? attendance.getTimeOut().toString() : null);
+            generator.writeStringField(COLUMNS[9], attendance.getMarkedBy());
+            generator.writeStringField(COLUMNS[10], attendance.getNotes());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+                generator.flush();
+            }
+        }
+        generator.flush();
+        return count;
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.studentattendance.services;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.studentattendance.dto.ReportsDto;
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.repositories.AttendanceDailyRollupRepository;
+import com.example.studentattendance.repositories.AttendanceRepository;
+
+/**
+ * Builds attendance heatmaps as {@link HeatmapMatrix} grids. The date range is split
+ * into chunks by {@link DateRangeAggregator}, each filled from one streamed grouped
+ * query, and the partial matrices are merged in order.
+ * Two layouts are supported: check-ins by weekday and hour of time in, and
+ * attendance by day and class (read from the daily rollup).
+ */
+@Service
+public class AttendanceHeatmapService {
+
+    public static final String LAYOUT_WEEKDAY_HOUR = "weekday-hour";
+    public static final String LAYOUT_DAY_CLASS = "day-class";
+
+    private static final int HOURS = 24;
+
+    private static final List<String> WEEKDAYS = Arrays.stream(DayOfWeek.values())
+            .map(day -> day.getDisplayName(TextStyle.FULL, Locale.ENGLISH))
+            .toList();
+
+    private static final List<String> TIME_SLOTS = IntStream.range(0, HOURS)
+            .mapToObj(hour -> String.format("%02d:00", hour))
+            .toList();
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private DateRangeAggregator dateRangeAggregator;
+
+    public ReportsDto.AttendanceHeatmapReport generate(LocalDate startDate, LocalDate endDate, Long classId,
+            String layout) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        if (layout == null || LAYOUT_WEEKDAY_HOUR.equalsIgnoreCase(layout)) {
+            return weekdayByHour(startDate, endDate, classId);
+        }
+        if (LAYOUT_DAY_CLASS.equalsIgnoreCase(layout)) {
+            return dayByClass(startDate, endDate, classId);
+        }
+        throw new IllegalArgumentException("Unsupported heatmap layout: " + layout);
+    }
+
+    private ReportsDto.AttendanceHeatmapReport weekdayByHour(LocalDate startDate, LocalDate endDate, Long classId) {
+        HeatmapMatrix matrix = new HeatmapMatrix(WEEKDAYS.size(), HOURS);
+        buildInChunks(startDate, endDate, matrix, false, (from, to, partial) -> {
+            try (Stream<Object[]> rows = attendanceRepository.streamHourlyCounts(from, to, classId,
+                    Attendance.AttendanceStatus.PRESENT)) {
+                rows.forEach(row -> partial.add(((LocalDate) row[0]).getDayOfWeek().getValue() - 1,
+                        toInt(row[1]), toInt(row[2]), toInt(row[3])));
+            }
+        });
+
+        // The nested map only lists non-empty cells; the flat arrays carry the full grid
+        Map<String, Map<String, Integer>> heatmapData = new LinkedHashMap<>();
+        for (int day = 0; day < matrix.getRows(); day++) {
+            Map<String, Integer> slots = new LinkedHashMap<>();
+            for (int hour = 0; hour < HOURS; hour++) {
+                if (matrix.getTotal(day, hour) > 0) {
+                    slots.put(TIME_SLOTS.get(hour), matrix.getPercentage(day, hour));
+                }
+            }
+            heatmapData.put(WEEKDAYS.get(day), slots);
+        }
+
+        ReportsDto.AttendanceHeatmapReport report = toReport(startDate, endDate, LAYOUT_WEEKDAY_HOUR, WEEKDAYS,
+                TIME_SLOTS, matrix);
+        report.setDaysOfWeek(WEEKDAYS);
+        report.setTimeSlots(TIME_SLOTS);
+        report.setHeatmapData(heatmapData);
+        return report;
+    }
+
+    private ReportsDto.AttendanceHeatmapReport dayByClass(LocalDate startDate, LocalDate endDate, Long classId) {
+        long[] classIds = rollupRepository.findClassIdsByDateRange(startDate, endDate, classId).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+        HeatmapMatrix matrix = new HeatmapMatrix(days, classIds.length);
+        buildInChunks(startDate, endDate, matrix, true, (from, to, partial) -> {
+            try (Stream<Object[]> rows = rollupRepository.streamDailyClassCounts(from, to, classId,
+                    Attendance.AttendanceStatus.PRESENT)) {
+                rows.forEach(row -> {
+                    // Sorted ids + binary search keep the column lookup free of boxed maps
+                    int column = Arrays.binarySearch(classIds, ((Number) row[1]).longValue());
+                    if (column >= 0) {
+                        partial.add((int) ChronoUnit.DAYS.between(from, (LocalDate) row[0]), column,
+                                toInt(row[2]), toInt(row[3]));
+                    }
+                });
+            }
+        });
+
+        List<String> dates = new ArrayList<>(days);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            dates.add(date.toString());
+        }
+        List<String> columns = Arrays.stream(classIds).mapToObj(Long::toString).toList();
+        return toReport(startDate, endDate, LAYOUT_DAY_CLASS, dates, columns, matrix);
+    }
+
+    // Each chunk fills its own partial matrix; per-day partials only span their chunk's rows,
+    // so they stay small and merge at a running row offset
+    private void buildInChunks(LocalDate startDate, LocalDate endDate, HeatmapMatrix target, boolean rowPerDay,
+            ChunkAggregator aggregator) {
+        List<HeatmapMatrix> partials = dateRangeAggregator.aggregate(startDate, endDate, (from, to) -> {
+            int rows = rowPerDay ? (int) ChronoUnit.DAYS.between(from, to) + 1 : target.getRows();
+            HeatmapMatrix partial = new HeatmapMatrix(rows, target.getColumns());
+            aggregator.aggregate(from, to, partial);
+            return partial;
+        });
+        int offset = 0;
+        for (HeatmapMatrix partial : partials) {
+            partial.mergeInto(target, rowPerDay ? offset : 0);
+            offset += partial.getRows();
+        }
+    }
+
+    private static ReportsDto.AttendanceHeatmapReport toReport(LocalDate startDate, LocalDate endDate, String layout,
+            List<String> rowLabels, List<String> columnLabels, HeatmapMatrix matrix) {
+        ReportsDto.AttendanceHeatmapReport report = new ReportsDto.AttendanceHeatmapReport();
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
+        report.setLayout(layout);
+        report.setRowLabels(rowLabels);
+        report.setColumnLabels(columnLabels);
+        report.setPresentCounts(matrix.getPresentCounts());
+        report.setTotalCounts(matrix.getTotalCounts());
+        return report;
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    @FunctionalInterface
+    private interface ChunkAggregator {
+        void aggregate(LocalDate from, LocalDate to, HeatmapMatrix partial);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.studentattendance.models.AttendanceOutboxEvent;
+
+// Relayed form of an outbox row; published to in-process listeners and handed to every AttendanceOutboxSink
+public record AttendanceOutboxMessage(long id, long classId, long sequence, String eventType, Long attendanceId,
+        Long studentId, LocalDate date, String status, LocalDateTime occurredAt) {
+
+    public static AttendanceOutboxMessage from(AttendanceOutboxEvent event) {
+        return new AttendanceOutboxMessage(event.getId(), event.getClassId(), event.getSequence(),
+                event.getEventType().name(), event.getAttendanceId(), event.getStudentId(), event.getDate(),
+                event.getStatus() != null ? event.getStatus().name() : null, event.getCreatedAt());
+    }
+}
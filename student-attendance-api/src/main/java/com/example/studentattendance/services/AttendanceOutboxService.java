@@ -0,0 +1,194 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.studentattendance.config.PaginationProperties;
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.AttendanceOutboxEvent;
+import com.example.studentattendance.models.OutboxSequence;
+import com.example.studentattendance.repositories.AttendanceOutboxRepository;
+import com.example.studentattendance.repositories.OutboxSequenceRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Transactional outbox for attendance writes. Writers call into this service from inside
+ * their own transaction, so an outbox row exists exactly when the attendance change
+ * commits; each row gets the next sequence number of its class under a row lock (the
+ * sequence row is created with an upsert first, so a class's first writers cannot race). A
+ * relay publishes unpublished rows in id order and in batches to in-process listeners
+ * ({@link AttendanceOutboxMessage} events) and to every {@link AttendanceOutboxSink}.
+ * Consumers can also page through one class's log by sequence instead of scanning attendance
+ * by updatedAt: the sequence row stays locked until the writer commits, so sequence order is
+ * commit order and a reader never passes a row that commits later. Ids come from IDENTITY and
+ * are taken before commit, so the log is never paged by id.
+ */
+@Service
+public class AttendanceOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceOutboxService.class);
+
+    @Autowired
+    private AttendanceOutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired(required = false)
+    private List<AttendanceOutboxSink> sinks = List.of();
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private TransactionTemplate relayTransaction;
+
+    private boolean onDuplicateKeyUpsert;
+
+    @PostConstruct
+    void init() {
+        relayTransaction = new TransactionTemplate(transactionManager);
+        onDuplicateKeyUpsert = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+
+    // Append UPSERTED rows for attendance that has just been inserted or updated
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSaves(Collection<Attendance> attendances) {
+        append(attendances, AttendanceOutboxEvent.EventType.UPSERTED);
+    }
+
+    // Append a DELETED row for attendance that is being deleted
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDelete(Attendance attendance) {
+        append(List.of(attendance), AttendanceOutboxEvent.EventType.DELETED);
+    }
+
+    // Keyset page of one class's log, oldest first; the cursor encodes the last sequence number
+    @Transactional(readOnly = true)
+    public KeysetPage<AttendanceOutboxMessage> findPage(String cursor, Long classId, Integer limit) {
+        if (classId == null) {
+            throw new IllegalArgumentException("classId is required");
+        }
+        Long afterSequence = KeysetPage.decodeIdCursor(cursor);
+        int pageSize = paginationProperties.resolveLimit(limit);
+        List<AttendanceOutboxEvent> fetched = outboxRepository.findClassPageAfter(classId, afterSequence,
+                PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(fetched, pageSize, event -> KeysetPage.encodeCursor(event.getSequence()))
+                .map(AttendanceOutboxMessage::from);
+    }
+
+    // Drain unpublished rows batch by batch; a failing sink leaves its batch for the next run
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        try {
+            Integer published;
+            do {
+                published = relayTransaction.execute(status -> publishBatch());
+            } while (published != null && published == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 30 3 * * *}")
+    public void purgePublished() {
+        Integer removed = relayTransaction.execute(status -> outboxRepository
+                .deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        logger.info("Purged {} published outbox rows older than {} days", removed, retentionDays);
+    }
+
+    private int publishBatch() {
+        List<AttendanceOutboxEvent> batch = outboxRepository.findUnpublishedForUpdate(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<AttendanceOutboxMessage> messages = batch.stream().map(AttendanceOutboxMessage::from).toList();
+        for (AttendanceOutboxSink sink : sinks) {
+            sink.publish(messages);
+        }
+        messages.forEach(eventPublisher::publishEvent);
+        outboxRepository.markPublished(batch.stream().map(AttendanceOutboxEvent::getId).toList(),
+                LocalDateTime.now());
+        return batch.size();
+    }
+
+    private void append(Collection<Attendance> attendances, AttendanceOutboxEvent.EventType type) {
+        // Lock each class's sequence once per transaction, in id order so concurrent writers cannot deadlock
+        Map<Long, List<Attendance>> byClass = new LinkedHashMap<>();
+        attendances.stream()
+                .filter(attendance -> attendance.getClassObj() != null)
+                .sorted((a, b) -> Long.compare(a.getClassObj().getId(), b.getClassObj().getId()))
+                .forEach(attendance -> byClass.computeIfAbsent(attendance.getClassObj().getId(),
+                        id -> new ArrayList<>()).add(attendance));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AttendanceOutboxEvent> events = new ArrayList<>(attendances.size());
+        for (Map.Entry<Long, List<Attendance>> entry : byClass.entrySet()) {
+            OutboxSequence sequence = lockSequence(entry.getKey());
+            long next = sequence.getNextValue();
+            for (Attendance attendance : entry.getValue()) {
+                AttendanceOutboxEvent event = new AttendanceOutboxEvent();
+                event.setClassId(entry.getKey());
+                event.setSequence(next++);
+                event.setEventType(type);
+                event.setAttendanceId(attendance.getId());
+                event.setStudentId(attendance.getStudent() != null ? attendance.getStudent().getId() : null);
+                event.setDate(attendance.getDate());
+                event.setStatus(attendance.getStatus());
+                event.setCreatedAt(now);
+                events.add(event);
+            }
+            sequence.setNextValue(next);
+            sequenceRepository.save(sequence);
+        }
+        outboxRepository.saveAll(events);
+    }
+
+    // Create the class's sequence row if needed, then lock it; a plain find-or-create would let two
+    // first writers both insert and one fail on the primary key
+    private OutboxSequence lockSequence(Long classId) {
+        if (onDuplicateKeyUpsert) {
+            sequenceRepository.insertIfMissingOnDuplicateKey(classId);
+        } else {
+            sequenceRepository.mergeIfMissing(classId);
+        }
+        return sequenceRepository.findForUpdate(classId)
+                .orElseThrow(() -> new IllegalStateException("Outbox sequence missing for class " + classId));
+    }
+}
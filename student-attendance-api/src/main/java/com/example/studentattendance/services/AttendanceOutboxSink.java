@@ -0,0 +1,14 @@
+package com.example.studentattendance.services;
+
+import java.util.List;
+
+/**
+ * External destination for relayed outbox batches (message broker, webhook, ...).
+ * Every sink bean receives each batch in id order, per-class sequences ascending.
+ * Throwing leaves the batch unpublished so the relay retries it, so delivery is
+ * at-least-once and sinks should de-duplicate on (classId, sequence).
+ */
+public interface AttendanceOutboxSink {
+
+    void publish(List<AttendanceOutboxMessage> batch);
+}
@@ -0,0 +1,215 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.studentattendance.config.CacheConfig;
+import com.example.studentattendance.dto.ReportsDto;
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+import com.example.studentattendance.repositories.AttendanceRepository;
+import com.example.studentattendance.repositories.ClassRepository;
+import com.example.studentattendance.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Student and class attendance rankings. Each ranking is built from one grouped
+ * query (one row per student or class), the top K are picked with a bounded heap,
+ * and names are loaded only for those K rows. Results are cached per date range
+ * and class; an attendance write only evicts the snapshots whose range and class
+ * cover it.
+ */
+@Service
+public class AttendanceRankingService {
+
+    // Best first: highest percentage, then more records, then lowest id for a stable order
+    private static final Comparator<Ranked> BEST_FIRST = Comparator
+            .comparingDouble(Ranked::percentage).reversed()
+            .thenComparing(Comparator.comparingInt(Ranked::total).reversed())
+            .thenComparingLong(Ranked::id);
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache<Object, Object> snapshots;
+
+    @PostConstruct
+    void init() {
+        snapshots = ((CaffeineCache) cacheManager.getCache(CacheConfig.RANKINGS)).getNativeCache();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Transactional(readOnly = true)
+    public List<ReportsDto.StudentRankingReport> rankStudents(LocalDate startDate, LocalDate endDate, Long classId,
+            int limit) {
+        validate(startDate, endDate, limit);
+        RankingKey key = new RankingKey(RankingKind.STUDENT, startDate, endDate, classId, limit);
+        return (List<ReportsDto.StudentRankingReport>) snapshots.get(key,
+                k -> computeStudentRanking(startDate, endDate, classId, limit));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Transactional(readOnly = true)
+    public List<ReportsDto.ClassRankingReport> rankClasses(LocalDate startDate, LocalDate endDate, int limit) {
+        validate(startDate, endDate, limit);
+        RankingKey key = new RankingKey(RankingKind.CLASS, startDate, endDate, null, limit);
+        return (List<ReportsDto.ClassRankingReport>) snapshots.get(key,
+                k -> computeClassRanking(startDate, endDate, limit));
+    }
+
+    // Drop only the snapshots whose date range and class scope include the written rows, before or after the write
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        snapshots.asMap().keySet().removeIf(key -> ((RankingKey) key).covers(event));
+    }
+
+    private List<ReportsDto.StudentRankingReport> computeStudentRanking(LocalDate startDate, LocalDate endDate,
+            Long classId, int limit) {
+        List<Object[]> rows = attendanceRepository.getStudentRankingCounts(startDate, endDate, classId,
+                Attendance.AttendanceStatus.PRESENT, Attendance.AttendanceStatus.ABSENT,
+                Attendance.AttendanceStatus.LATE);
+        List<StudentScore> top = selectTop(rows, limit, row -> new StudentScore(((Number) row[0]).longValue(),
+                toInt(row[1]), toInt(row[2]), toInt(row[3]), toInt(row[4])));
+
+        Map<Long, User> students = userRepository.findAllById(top.stream().map(StudentScore::id).toList()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<ReportsDto.StudentRankingReport> reports = new ArrayList<>(top.size());
+        for (StudentScore score : top) {
+            User student = students.get(score.id());
+            ReportsDto.StudentRankingReport report = new ReportsDto.StudentRankingReport();
+            report.setRank(reports.size() + 1);
+            report.setStudentId(score.id());
+            report.setStudentName(student != null ? student.getFullName() : "Unknown Student");
+            report.setDepartment(student != null ? student.getDepartment() : null);
+            report.setAttendancePercentage(score.percentage());
+            report.setTotalClasses(score.total());
+            report.setPresentCount(score.present());
+            report.setAbsentCount(score.absent());
+            report.setLateCount(score.late());
+            reports.add(report);
+        }
+        return List.copyOf(reports);
+    }
+
+    private List<ReportsDto.ClassRankingReport> computeClassRanking(LocalDate startDate, LocalDate endDate,
+            int limit) {
+        List<Object[]> rows = attendanceRepository.getClassRankingCounts(startDate, endDate,
+                Attendance.AttendanceStatus.PRESENT);
+        List<ClassScore> top = selectTop(rows, limit, row -> new ClassScore(((Number) row[0]).longValue(),
+                toInt(row[1]), toInt(row[2]), toInt(row[3]), toInt(row[4])));
+
+        Map<Long, Class> classes = classRepository.findWithTeacherByIdIn(top.stream().map(ClassScore::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Class::getId, Function.identity()));
+
+        List<ReportsDto.ClassRankingReport> reports = new ArrayList<>(top.size());
+        for (ClassScore score : top) {
+            Class classObj = classes.get(score.id());
+            ReportsDto.ClassRankingReport report = new ReportsDto.ClassRankingReport();
+            report.setRank(reports.size() + 1);
+            report.setClassId(score.id());
+            report.setClassName(classObj != null ? classObj.getClassName() : "Unknown Class");
+            report.setSubject(classObj != null ? classObj.getSubject() : null);
+            report.setTeacherName(classObj != null ? classObj.getTeacherName() : "Unknown Teacher");
+            report.setAverageAttendance(score.percentage());
+            report.setTotalStudents(score.students());
+            report.setTotalSessions(score.sessions());
+            reports.add(report);
+        }
+        return List.copyOf(reports);
+    }
+
+    // Keep the best K in a min-heap whose head is the worst kept score: O(n log K) instead of a full sort
+    private static <T extends Ranked> List<T> selectTop(List<Object[]> rows, int limit,
+            Function<Object[], T> toScore) {
+        PriorityQueue<T> heap = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        for (Object[] row : rows) {
+            T score = toScore.apply(row);
+            if (heap.size() < limit) {
+                heap.add(score);
+            } else if (BEST_FIRST.compare(score, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(score);
+            }
+        }
+        List<T> top = new ArrayList<>(heap);
+        top.sort(BEST_FIRST);
+        return top;
+    }
+
+    private static void validate(LocalDate startDate, LocalDate endDate, int limit) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    // Grouped counts for one student or class, ordered by BEST_FIRST
+    private interface Ranked {
+        long id();
+
+        int present();
+
+        int total();
+
+        default double percentage() {
+            return total() > 0 ? (double) present() / total() * 100 : 0.0;
+        }
+    }
+
+    private record StudentScore(long id, int present, int absent, int late, int total) implements Ranked {
+    }
+
+    private record ClassScore(long id, int present, int total, int students, int sessions) implements Ranked {
+    }
+
+    private enum RankingKind {
+        STUDENT,
+        CLASS
+    }
+
+    private record RankingKey(RankingKind kind, LocalDate startDate, LocalDate endDate, Long classId, int limit) {
+        boolean covers(AttendanceChangedEvent event) {
+            return covers(event.date(), event.classId()) || covers(event.previousDate(), event.previousClassId());
+        }
+
+        private boolean covers(LocalDate date, Long changedClassId) {
+            if (date == null || date.isBefore(startDate) || date.isAfter(endDate)) {
+                return false;
+            }
+            return classId == null || changedClassId == null || classId.equals(changedClassId);
+        }
+    }
+}
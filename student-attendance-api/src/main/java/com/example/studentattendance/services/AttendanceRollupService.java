@@ -0,0 +1,175 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.repositories.AttendanceDailyRollupRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Maintains the attendance_daily_rollup table. Writers call into this service from
+ * inside their own transaction so the rollup never drifts from the attendance table;
+ * dashboard and report range queries read it so their cost depends on the number of
+ * days and classes rather than the number of attendance rows.
+ *
+ * Buckets are changed with a single upsert statement (INSERT ... ON DUPLICATE KEY UPDATE
+ * on MySQL, MERGE elsewhere), so concurrent first marks for the same bucket cannot race
+ * on the unique key, and the buckets of one transaction are always touched in the same
+ * order so two writers cannot deadlock on each other's rows.
+ */
+@Service
+public class AttendanceRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceRollupService.class);
+
+    @Autowired
+    private AttendanceDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private boolean onDuplicateKeyUpsert;
+
+    @PostConstruct
+    void init() {
+        onDuplicateKeyUpsert = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+
+    // Fill the rollup on first start against an existing attendance table
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            Integer buckets = new TransactionTemplate(transactionManager).execute(status -> {
+                if (rollupRepository.count() > 0 || rollupRepository.countAttendance() == 0) {
+                    return null;
+                }
+                rollupRepository.deleteAllInBatch();
+                return rollupRepository.rebuildFromAttendance();
+            });
+            if (buckets != null) {
+                logger.info("Attendance rollup was empty; rebuilt {} buckets", buckets);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not rebuild the attendance rollup: {}", e.getMessage());
+        }
+    }
+
+    // Move counts for rows that are about to be inserted or updated
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSaves(Collection<Attendance> attendances) {
+        Map<BucketKey, Integer> deltas = new TreeMap<>();
+        for (Attendance attendance : attendances) {
+            BucketKey newKey = new BucketKey(attendance.getDate(), attendance.getClassObj().getId(),
+                    attendance.getStatus());
+            if (attendance.hasPersistedState()) {
+                BucketKey oldKey = new BucketKey(attendance.getPersistedDate(), attendance.getPersistedClassId(),
+                        attendance.getPersistedStatus());
+                if (oldKey.equals(newKey)) {
+                    continue;
+                }
+                deltas.merge(oldKey, -1, Integer::sum);
+            }
+            deltas.merge(newKey, 1, Integer::sum);
+            attendance.snapshotPersistedState();
+        }
+        applyDeltas(deltas);
+    }
+
+    // Remove counts for a row that is about to be deleted
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDelete(Attendance attendance) {
+        if (!attendance.hasPersistedState()) {
+            return;
+        }
+        Map<BucketKey, Integer> deltas = new TreeMap<>();
+        deltas.put(new BucketKey(attendance.getPersistedDate(), attendance.getPersistedClassId(),
+                attendance.getPersistedStatus()), -1);
+        applyDeltas(deltas);
+    }
+
+    // Recompute every bucket from the attendance table; returns the number of buckets written
+    @Transactional
+    public int rebuild() {
+        rollupRepository.deleteAllInBatch();
+        return rollupRepository.rebuildFromAttendance();
+    }
+
+    // Status counts over a date range, optionally for one class
+    @Transactional(readOnly = true)
+    public AttendanceStatusCounts getStatusCounts(LocalDate startDate, LocalDate endDate, Long classId) {
+        List<Object[]> rows = classId != null
+                ? rollupRepository.getStatusCountsByClassAndDateRange(classId, startDate, endDate)
+                : rollupRepository.getStatusCountsByDateRange(startDate, endDate);
+        return AttendanceStatusCounts.fromStatusRows(rows);
+    }
+
+    // Status counts per day over a date range; days without records are absent from the map
+    @Transactional(readOnly = true)
+    public Map<LocalDate, AttendanceStatusCounts> getDailyStatusCounts(LocalDate startDate, LocalDate endDate,
+            Long classId) {
+        List<Object[]> rows = classId != null
+                ? rollupRepository.getDailyStatusCountsByClass(classId, startDate, endDate)
+                : rollupRepository.getDailyStatusCounts(startDate, endDate);
+
+        Map<LocalDate, AttendanceStatusCounts> countsByDate = new HashMap<>();
+        for (Object[] row : rows) {
+            countsByDate.computeIfAbsent((LocalDate) row[0], date -> new AttendanceStatusCounts())
+                    .add((Attendance.AttendanceStatus) row[1], ((Number) row[2]).intValue());
+        }
+        return countsByDate;
+    }
+
+    // Deltas arrive in BucketKey order
+    private void applyDeltas(Map<BucketKey, Integer> deltas) {
+        for (Map.Entry<BucketKey, Integer> entry : deltas.entrySet()) {
+            if (entry.getValue() == 0) {
+                continue;
+            }
+            BucketKey key = entry.getKey();
+            if (onDuplicateKeyUpsert) {
+                rollupRepository.upsertBucketOnDuplicateKey(key.date(), key.classId(), key.status().name(),
+                        entry.getValue());
+            } else {
+                rollupRepository.mergeBucket(key.date(), key.classId(), key.status().name(), entry.getValue());
+            }
+        }
+    }
+
+    private record BucketKey(LocalDate date, Long classId, Attendance.AttendanceStatus status)
+            implements Comparable<BucketKey> {
+
+        private static final Comparator<BucketKey> ORDER = Comparator.comparing(BucketKey::date)
+                .thenComparing(BucketKey::classId)
+                .thenComparing(BucketKey::status);
+
+        @Override
+        public int compareTo(BucketKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -1,29 +1,84 @@
 package com.example.studentattendance.services;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.studentattendance.config.CacheConfig;
+import com.example.studentattendance.config.PaginationProperties;
+import com.example.studentattendance.config.ReplicaLagTolerance;
 import com.example.studentattendance.dto.AttendanceDto;
+import com.example.studentattendance.dto.DashboardDto;
 import com.example.studentattendance.dto.ReportsDto;
 import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
 import com.example.studentattendance.repositories.AttendanceRepository;
+import com.example.studentattendance.repositories.ClassRepository;
+import com.example.studentattendance.repositories.UserRepository;
 
 @Service
 public class AttendanceService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
+
     @Autowired
     private AttendanceRepository attendanceRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Autowired
+    private AttendanceRollupService rollupService;
+
+    @Autowired
+    private AttendanceOutboxService outboxService;
+
+    @Autowired
+    private AttendanceRankingService rankingService;
+
+    @Autowired
+    private AttendanceHeatmapService heatmapService;
+
+    @Autowired
+    private AttendanceTrendService trendService;
+
+    @Autowired
+    private CustomReportEngine customReportEngine;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @Autowired
+    private SystemMetricsService systemMetricsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Basic CRUD operations
     public List<Attendance> findAll() {
         return attendanceRepository.findAll();
@@ -33,16 +88,39 @@ public class AttendanceService {
         return attendanceRepository.findById(id);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ATTENDANCE_COUNTS, allEntries = true)
     public Attendance save(Attendance attendance) {
         if (attendance.getCreatedAt() == null) {
             attendance.setCreatedAt(LocalDateTime.now());
         }
         attendance.setUpdatedAt(LocalDateTime.now());
-        return attendanceRepository.save(attendance);
+        LocalDate previousDate = attendance.getPersistedDate();
+        Long previousClassId = attendance.getPersistedClassId();
+        rollupService.recordSaves(List.of(attendance));
+        Attendance saved = attendanceRepository.save(attendance);
+        outboxService.recordSaves(List.of(saved));
+        systemMetricsService.recordAttendanceMarks(1);
+        publishChange(saved, previousDate, previousClassId);
+        return saved;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ATTENDANCE_COUNTS, allEntries = true)
+    public void deleteById(Long id) {
+        attendanceRepository.findById(id).ifPresent(attendance -> {
+            rollupService.recordDelete(attendance);
+            outboxService.recordDelete(attendance);
+            attendanceRepository.delete(attendance);
+            publishChange(attendance, attendance.getPersistedDate(), attendance.getPersistedClassId());
+        });
     }
 
-    public void deleteById(Long id) {
-        attendanceRepository.deleteById(id);
+    // Listeners run after commit (see RealtimeDashboardService), so rolled-back writes are never pushed
+    private void publishChange(Attendance attendance, LocalDate previousDate, Long previousClassId) {
+        Long classId = attendance.getClassObj() != null ? attendance.getClassObj().getId() : null;
+        eventPublisher.publishEvent(new AttendanceChangedEvent(attendance.getDate(), classId, previousDate,
+                previousClassId, 1));
     }
 
     // Find attendance by student and class and date
@@ -50,14 +128,46 @@ public class AttendanceService {
         return attendanceRepository.findByStudentIdAndClassIdAndDate(studentId, classId, date);
     }
 
-    // Find attendance by student and date range
-    public List<Attendance> findByStudentAndDateRange(Long studentId, LocalDate startDate, LocalDate endDate) {
-        return attendanceRepository.findByStudentIdAndDateBetween(studentId, startDate, endDate);
+    // Keyset page of a student's attendance in a date range; the cursor encodes the last (date, id)
+    @Transactional(readOnly = true)
+    public KeysetPage<Attendance> findPageByStudentAndDateRange(Long studentId, LocalDate startDate,
+            LocalDate endDate, String cursor, Integer limit) {
+        String[] key = KeysetPage.decodeCursor(cursor, 2);
+        int pageSize = paginationProperties.resolveLimit(limit);
+        List<Attendance> fetched = attendanceRepository.findPageByStudentAndDateRange(studentId, startDate, endDate,
+                cursorDate(key), key != null ? KeysetPage.parseLong(key[1]) : null, PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(fetched, pageSize, AttendanceService::attendanceCursor);
+    }
+
+    // Keyset page of a class's attendance change log (outbox) in sequence order; classId is required
+    public KeysetPage<AttendanceOutboxMessage> findChangePage(String cursor, Long classId, Integer limit) {
+        return outboxService.findPage(cursor, classId, limit);
+    }
+
+    // Keyset page of a class's attendance in a date range; the cursor encodes the last (date, id)
+    @Transactional(readOnly = true)
+    public KeysetPage<Attendance> findPageByClassAndDateRange(Long classId, LocalDate startDate,
+            LocalDate endDate, String cursor, Integer limit) {
+        String[] key = KeysetPage.decodeCursor(cursor, 2);
+        int pageSize = paginationProperties.resolveLimit(limit);
+        List<Attendance> fetched = attendanceRepository.findPageByClassAndDateRange(classId, startDate, endDate,
+                cursorDate(key), key != null ? KeysetPage.parseLong(key[1]) : null, PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(fetched, pageSize, AttendanceService::attendanceCursor);
+    }
+
+    private static String attendanceCursor(Attendance attendance) {
+        return KeysetPage.encodeCursor(attendance.getDate(), attendance.getId());
     }
 
-    // Find attendance by class and date range
-    public List<Attendance> findByClassAndDateRange(Long classId, LocalDate startDate, LocalDate endDate) {
-        return attendanceRepository.findByClassIdAndDateBetween(classId, startDate, endDate);
+    private static LocalDate cursorDate(String[] key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(key[0]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
     }
 
     // Find attendance by class and specific date
@@ -66,69 +176,174 @@ public class AttendanceService {
     }
 
     // Mark attendance
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ATTENDANCE_COUNTS, allEntries = true)
     public Attendance markAttendance(Long studentId, Long classId, LocalDate date,
             Attendance.AttendanceStatus status, String remarks) {
         Attendance attendance = findByStudentAndClassAndDate(studentId, classId, date);
 
         if (attendance == null) {
             attendance = new Attendance();
-            attendance.setStudentId(studentId);
-            attendance.setClassId(classId);
+            attendance.setStudent(userRepository.getReferenceById(studentId));
+            attendance.setClassObj(classRepository.getReferenceById(classId));
             attendance.setDate(date);
         }
 
         attendance.setStatus(status);
-        attendance.setRemarks(remarks);
+        attendance.setNotes(remarks);
 
         if (status == Attendance.AttendanceStatus.PRESENT || status == Attendance.AttendanceStatus.LATE) {
-            attendance.setTimeIn(LocalDateTime.now());
+            attendance.setTimeIn(LocalTime.now());
         }
 
         return save(attendance);
     }
 
-    // Get attendance statistics for a student
-    public AttendanceDto.AttendanceStats getStudentAttendanceStats(Long studentId, LocalDate startDate,
-            LocalDate endDate) {
-        List<Attendance> attendances = findByStudentAndDateRange(studentId, startDate, endDate);
-
-        AttendanceDto.AttendanceStats stats = new AttendanceDto.AttendanceStats();
-        stats.setTotalClasses(attendances.size());
-        stats.setPresentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT).count());
-        stats.setAbsentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.ABSENT).count());
-        stats.setLateCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.LATE).count());
-
-        if (stats.getTotalClasses() > 0) {
-            stats.setAttendancePercentage((double) stats.getPresentCount() / stats.getTotalClasses() * 100);
+    // Aggregate status counts in the database for the given scope; null ids widen the scope
+    public AttendanceStatusCounts aggregateStatusCounts(LocalDate startDate, LocalDate endDate, Long classId,
+            Long studentId) {
+        if (studentId == null) {
+            // Class-wide and school-wide ranges are served by the daily rollup
+            return rollupService.getStatusCounts(startDate, endDate, classId);
         }
 
-        return stats;
+        List<Object[]> rows = classId != null
+                ? attendanceRepository.getAttendanceSummaryByClassAndStudentAndDateRange(classId, studentId,
+                        startDate, endDate)
+                : attendanceRepository.getAttendanceSummaryByStudentAndDateRange(studentId, startDate, endDate);
+        return AttendanceStatusCounts.fromStatusRows(rows);
     }
 
-    // Get attendance statistics for a class
-    public AttendanceDto.AttendanceStats getClassAttendanceStats(Long classId, LocalDate startDate, LocalDate endDate) {
-        List<Attendance> attendances = findByClassAndDateRange(classId, startDate, endDate);
-
-        AttendanceDto.AttendanceStats stats = new AttendanceDto.AttendanceStats();
-        stats.setTotalClasses(attendances.size());
-        stats.setPresentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT).count());
-        stats.setAbsentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.ABSENT).count());
-        stats.setLateCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.LATE).count());
-
-        if (stats.getTotalClasses() > 0) {
-            stats.setAttendancePercentage((double) stats.getPresentCount() / stats.getTotalClasses() * 100);
+    // Aggregate status counts per day from the daily rollup; days without records are absent from the map
+    public Map<LocalDate, AttendanceStatusCounts> aggregateDailyStatusCounts(LocalDate startDate, LocalDate endDate,
+            Long classId) {
+        return rollupService.getDailyStatusCounts(startDate, endDate, classId);
+    }
+
+    // Mark a whole roster for one class and date: one IN query for existing rows and one batched flush
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ATTENDANCE_COUNTS, allEntries = true)
+    public List<BulkMarkResult> markBulkAttendance(Class classObj, LocalDate date, String markedBy,
+            List<AttendanceDto.MarkAttendanceRequest> rows, Map<Long, User> students) {
+        Map<Long, Attendance> existingByStudent = new HashMap<>();
+        if (!students.isEmpty()) {
+            for (Attendance existing : attendanceRepository.findByClassIdAndDateAndStudentIdIn(classObj.getId(), date,
+                    students.keySet())) {
+                existingByStudent.put(existing.getStudent().getId(), existing);
+            }
         }
 
+        LocalDateTime now = LocalDateTime.now();
+        List<BulkMarkResult> results = new ArrayList<>(rows.size());
+        Map<Long, Attendance> toSave = new LinkedHashMap<>();
+        for (AttendanceDto.MarkAttendanceRequest row : rows) {
+            User student = students.get(row.getStudentId());
+            if (student == null || student.getRole() != User.UserRole.STUDENT) {
+                results.add(new BulkMarkResult(row.getStudentId(), BulkMarkResult.SKIPPED, "Student not found", null));
+                continue;
+            }
+
+            Attendance attendance = existingByStudent.get(student.getId());
+            boolean created = attendance == null;
+            if (created) {
+                attendance = new Attendance();
+                attendance.setClassObj(classObj);
+                attendance.setDate(date);
+                attendance.setCreatedAt(now);
+                // A roster may list the same student twice; the last row wins
+                existingByStudent.put(student.getId(), attendance);
+            }
+            attendance.setStudent(student);
+            attendance.setStatus(row.getStatus());
+            attendance.setTimeIn(parseTimeString(row.getTimeIn()));
+            attendance.setTimeOut(parseTimeString(row.getTimeOut()));
+            attendance.setNotes(row.getNotes());
+            attendance.setMarkedBy(markedBy);
+            attendance.setUpdatedAt(now);
+
+            toSave.put(student.getId(), attendance);
+            results.add(new BulkMarkResult(student.getId(),
+                    created ? BulkMarkResult.CREATED : BulkMarkResult.UPDATED, null, attendance));
+        }
+
+        rollupService.recordSaves(toSave.values());
+        attendanceRepository.saveAll(toSave.values());
+        outboxService.recordSaves(toSave.values());
+        systemMetricsService.recordAttendanceMarks(toSave.size());
+        if (!toSave.isEmpty()) {
+            // Existing rows were looked up by this class and date, so nothing moves between buckets
+            eventPublisher.publishEvent(new AttendanceChangedEvent(date, classObj.getId(), null, null,
+                    toSave.size()));
+        }
+        return results;
+    }
+
+    // Parse HH:mm or HH:mm:ss time strings sent by clients; null when blank or malformed
+    public static LocalTime parseTimeString(String timeString) {
+        if (timeString == null || timeString.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            // Try parsing with different formats
+            if (timeString.length() == 5) { // HH:mm format
+                return LocalTime.parse(timeString, DateTimeFormatter.ofPattern("HH:mm"));
+            } else if (timeString.length() == 8) { // HH:mm:ss format
+                return LocalTime.parse(timeString, DateTimeFormatter.ofPattern("HH:mm:ss"));
+            } else {
+                // Try default parsing
+                return LocalTime.parse(timeString);
+            }
+        } catch (DateTimeParseException e) {
+            logger.debug("Failed to parse time string '{}': {}", timeString, e.getMessage());
+            return null;
+        }
+    }
+
+    // Get attendance summary for a student
+    public AttendanceDto.StudentAttendanceSummary getStudentAttendanceSummary(Long studentId, LocalDate startDate,
+            LocalDate endDate) {
+        AttendanceStatusCounts counts = aggregateStatusCounts(startDate, endDate, null, studentId);
+        AttendanceDto.StudentAttendanceSummary summary = new AttendanceDto.StudentAttendanceSummary();
+        summary.setStudentId(studentId);
+        userRepository.findById(studentId)
+                .ifPresent(student -> summary.setStudentName(student.getFirstName() + " " + student.getLastName()));
+        summary.setTotalRecords(counts.getTotal());
+        summary.setPresentCount(counts.getPresentCount());
+        summary.setAbsentCount(counts.getAbsentCount());
+        summary.setLateCount(counts.getLateCount());
+        summary.setAttendancePercentage(counts.getAttendancePercentage());
+        return summary;
+    }
+
+    // Get attendance statistics for a class
+    public AttendanceDto.ClassAttendanceStats getClassAttendanceStats(Long classId, LocalDate startDate,
+            LocalDate endDate) {
+        AttendanceStatusCounts counts = aggregateStatusCounts(startDate, endDate, classId, null);
+        AttendanceDto.ClassAttendanceStats stats = new AttendanceDto.ClassAttendanceStats();
+        stats.setClassId(classId);
+        classRepository.findById(classId).ifPresent(classObj -> stats.setClassName(classObj.getClassName()));
+        stats.setTotalRecords(counts.getTotal());
+        stats.setPresentCount(counts.getPresentCount());
+        stats.setAbsentCount(counts.getAbsentCount());
+        stats.setLateCount(counts.getLateCount());
+        stats.setAverageAttendance(counts.getAttendancePercentage());
+        return stats;
+    }
+
+    // Get school-wide attendance statistics
+    public AttendanceDto.OverallAttendanceStats getOverallAttendanceStats(LocalDate startDate, LocalDate endDate) {
+        AttendanceStatusCounts counts = aggregateStatusCounts(startDate, endDate, null, null);
+        AttendanceDto.OverallAttendanceStats stats = new AttendanceDto.OverallAttendanceStats();
+        stats.setTotalRecords(counts.getTotal());
+        stats.setPresentCount(counts.getPresentCount());
+        stats.setAbsentCount(counts.getAbsentCount());
+        stats.setLateCount(counts.getLateCount());
+        stats.setAverageAttendance(counts.getAttendancePercentage());
         return stats;
     }
 
     // Get recent attendance activities
+    @Transactional(readOnly = true)
     public List<AttendanceDto.RecentAttendanceActivity> getRecentAttendanceActivities(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
         List<Attendance> recentAttendances = attendanceRepository.findRecentAttendances(pageable);
@@ -139,6 +354,7 @@ public class AttendanceService {
     }
 
     // Get attendance history for a student
+    @Transactional(readOnly = true)
     public List<AttendanceDto.AttendanceHistoryItem> getStudentAttendanceHistory(Long studentId, int limit) {
         Pageable pageable = PageRequest.of(0, limit);
         List<Attendance> attendanceHistory = attendanceRepository.findByStudentIdOrderByDateDesc(studentId, pageable);
@@ -149,40 +365,50 @@ public class AttendanceService {
     }
 
     // Dashboard methods
+    @Transactional(readOnly = true)
+    public int getTodayAttendanceUpdatesCount() {
+        LocalDate today = LocalDate.now();
+        return attendanceRepository.countByDateAndUpdatedAtAfter(today, today.atStartOfDay());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ATTENDANCE_COUNTS, key = "'all'")
     public long getTotalAttendanceRecords() {
         return attendanceRepository.count();
     }
 
+    @Cacheable(cacheNames = CacheConfig.ATTENDANCE_COUNTS, key = "'today:' + T(java.time.LocalDate).now()")
     public long getTodayAttendanceCount() {
-        return attendanceRepository.countByDate(LocalDate.now());
+        LocalDate today = LocalDate.now();
+        return rollupService.getStatusCounts(today, today, null).getTotal();
     }
 
+    @Cacheable(cacheNames = CacheConfig.ATTENDANCE_COUNTS, key = "'todayRate:' + T(java.time.LocalDate).now()")
     public double getTodayAttendanceRate() {
-        long totalToday = getTodayAttendanceCount();
-        if (totalToday == 0)
-            return 0.0;
-
-        long presentToday = attendanceRepository.countByDateAndStatus(LocalDate.now(),
-                Attendance.AttendanceStatus.PRESENT);
-        return (double) presentToday / totalToday * 100;
+        LocalDate today = LocalDate.now();
+        return rollupService.getStatusCounts(today, today, null).getAttendancePercentage();
     }
 
-    public List<AttendanceDto.AttendanceTrend> getAttendanceTrends(int days) {
-        List<AttendanceDto.AttendanceTrend> trends = new ArrayList<>();
+    @Transactional(readOnly = true)
+    public List<AttendanceDto.AttendanceSummaryByDate> getAttendanceTrends(int days) {
+        List<AttendanceDto.AttendanceSummaryByDate> trends = new ArrayList<>();
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(days);
+        Map<LocalDate, AttendanceStatusCounts> countsByDate = aggregateDailyStatusCounts(startDate, endDate, null);
 
         LocalDate currentDate = startDate;
         while (!currentDate.isAfter(endDate)) {
-            long totalForDay = attendanceRepository.countByDate(currentDate);
-            long presentForDay = attendanceRepository.countByDateAndStatus(currentDate,
-                    Attendance.AttendanceStatus.PRESENT);
+            AttendanceStatusCounts counts = countsByDate.get(currentDate);
+            if (counts == null) {
+                counts = new AttendanceStatusCounts();
+            }
 
-            AttendanceDto.AttendanceTrend trend = new AttendanceDto.AttendanceTrend();
+            AttendanceDto.AttendanceSummaryByDate trend = new AttendanceDto.AttendanceSummaryByDate();
             trend.setDate(currentDate);
-            trend.setTotalRecords((int) totalForDay);
-            trend.setPresentCount((int) presentForDay);
-            trend.setAttendanceRate(totalForDay > 0 ? (double) presentForDay / totalForDay * 100 : 0.0);
+            trend.setTotalCount(counts.getTotal());
+            trend.setPresentCount(counts.getPresentCount());
+            trend.setAbsentCount(counts.getAbsentCount());
+            trend.setLateCount(counts.getLateCount());
+            trend.setAttendancePercentage(counts.getAttendancePercentage());
 
             trends.add(trend);
             currentDate = currentDate.plusDays(1);
@@ -191,93 +417,176 @@ public class AttendanceService {
         return trends;
     }
 
-    // System health methods
-    public long countAll() {
-        return attendanceRepository.count();
+    @Cacheable(cacheNames = CacheConfig.ATTENDANCE_COUNTS, key = "'average:' + #days + ':' + T(java.time.LocalDate).now()")
+    public double getAverageAttendancePercentage(int days) {
+        LocalDate today = LocalDate.now();
+        return rollupService.getStatusCounts(today.minusDays(days), today, null).getAttendancePercentage();
+    }
+
+    public int getTodayAbsentCount() {
+        LocalDate today = LocalDate.now();
+        return rollupService.getStatusCounts(today, today, null).getAbsentCount();
+    }
+
+    public int getTodayLateCount() {
+        LocalDate today = LocalDate.now();
+        return rollupService.getStatusCounts(today, today, null).getLateCount();
+    }
+
+    // Attendance percentage for each of the last 7 days, oldest first
+    public List<Double> getWeeklyAttendanceTrend() {
+        return getDailyAttendancePercentages(7);
+    }
+
+    // Attendance percentage for each of the last 30 days, oldest first
+    public List<Double> getMonthlyAttendanceTrend() {
+        return getDailyAttendancePercentages(30);
+    }
+
+    private List<Double> getDailyAttendancePercentages(int days) {
+        return getDailyCounts(days).stream()
+                .map(AttendanceStatusCounts::getAttendancePercentage)
+                .collect(Collectors.toList());
+    }
+
+    // Per-day counts for the last N days including today, oldest first, with empty days filled in
+    private List<AttendanceStatusCounts> getDailyCounts(int days) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(days - 1);
+        Map<LocalDate, AttendanceStatusCounts> countsByDate = aggregateDailyStatusCounts(startDate, endDate, null);
+
+        List<AttendanceStatusCounts> counts = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            counts.add(countsByDate.getOrDefault(date, new AttendanceStatusCounts()));
+        }
+        return counts;
     }
 
-    public double getAverageResponseTime() {
-        // Mock implementation - would measure actual response times
-        return 150.0; // milliseconds
+    public List<String> getAttendanceChartLabels(int days) {
+        LocalDate endDate = LocalDate.now();
+        List<String> labels = new ArrayList<>();
+        for (LocalDate date = endDate.minusDays(days - 1); !date.isAfter(endDate); date = date.plusDays(1)) {
+            labels.add(date.format(DateTimeFormatter.ofPattern("MMM d")));
+        }
+        return labels;
     }
 
-    public String getSystemUptime() {
-        // Mock implementation - would calculate actual uptime
-        return "99.9%";
+    public List<Integer> getAttendanceChartPresentData(int days) {
+        return getDailyCounts(days).stream()
+                .map(AttendanceStatusCounts::getPresentCount)
+                .collect(Collectors.toList());
     }
 
-    public int getDatabaseConnections() {
-        // Mock implementation - would get actual connection count
-        return 5;
+    public List<Integer> getAttendanceChartAbsentData(int days) {
+        return getDailyCounts(days).stream()
+                .map(AttendanceStatusCounts::getAbsentCount)
+                .collect(Collectors.toList());
     }
 
-    public List<Integer> getRecentAttendanceMarks(int hours) {
-        // Mock implementation - would get actual recent marks
-        return Arrays.asList(10, 15, 8, 12, 20);
+    // Teacher dashboard methods
+    public int getTotalStudentsInTeacherClasses(Long teacherId) {
+        return (int) classRepository.countEnrolledStudentsByTeacherId(teacherId);
+    }
+
+    public int getTodayPresentCountForTeacher(Long teacherId) {
+        LocalDate today = LocalDate.now();
+        return getTeacherStatusCounts(teacherId, today, today).getPresentCount();
+    }
+
+    public int getTodayAbsentCountForTeacher(Long teacherId) {
+        LocalDate today = LocalDate.now();
+        return getTeacherStatusCounts(teacherId, today, today).getAbsentCount();
+    }
+
+    public double getAverageAttendanceForTeacher(Long teacherId, int days) {
+        LocalDate today = LocalDate.now();
+        return getTeacherStatusCounts(teacherId, today.minusDays(days), today).getAttendancePercentage();
+    }
+
+    private AttendanceStatusCounts getTeacherStatusCounts(Long teacherId, LocalDate startDate, LocalDate endDate) {
+        return AttendanceStatusCounts.fromStatusRows(
+                attendanceRepository.getAttendanceSummaryByTeacherAndDateRange(teacherId, startDate, endDate));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DashboardDto.RecentAttendanceActivity> getRecentAttendanceActivitiesForTeacher(Long teacherId,
+            int limit) {
+        return attendanceRepository.findRecentByTeacherId(teacherId, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDashboardActivity)
+                .collect(Collectors.toList());
+    }
+
+    // Student dashboard methods
+    public int getWeeklyPresentCountForStudent(Long studentId) {
+        return getStudentWeekCounts(studentId).getPresentCount();
+    }
+
+    public int getWeeklyAbsentCountForStudent(Long studentId) {
+        return getStudentWeekCounts(studentId).getAbsentCount();
+    }
+
+    public double getAttendancePercentageForStudent(Long studentId, int days) {
+        LocalDate today = LocalDate.now();
+        return aggregateStatusCounts(today.minusDays(days), today, null, studentId).getAttendancePercentage();
+    }
+
+    // Counts since Monday of the current week
+    private AttendanceStatusCounts getStudentWeekCounts(Long studentId) {
+        LocalDate today = LocalDate.now();
+        return aggregateStatusCounts(today.with(DayOfWeek.MONDAY), today, null, studentId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DashboardDto.AttendanceHistoryItem> getAttendanceHistoryForStudent(Long studentId, int limit) {
+        return attendanceRepository.findByStudentIdOrderByDateDesc(studentId, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDashboardHistoryItem)
+                .collect(Collectors.toList());
+    }
+
+    // System health methods
+    @Cacheable(cacheNames = CacheConfig.ATTENDANCE_COUNTS, key = "'all'")
+    public long countAll() {
+        return attendanceRepository.count();
     }
 
     // Report generation methods
+    @Transactional(readOnly = true)
     public ReportsDto.AttendanceSummaryReport generateAttendanceSummaryReport(LocalDate startDate, LocalDate endDate,
             Long classId, Long studentId) {
         ReportsDto.AttendanceSummaryReport report = new ReportsDto.AttendanceSummaryReport();
         report.setStartDate(startDate);
         report.setEndDate(endDate);
 
-        List<Attendance> attendances;
-        if (classId != null && studentId != null) {
-            attendances = attendanceRepository.findByClassIdAndStudentIdAndDateBetween(classId, studentId, startDate,
-                    endDate);
-        } else if (classId != null) {
-            attendances = findByClassAndDateRange(classId, startDate, endDate);
-        } else if (studentId != null) {
-            attendances = findByStudentAndDateRange(studentId, startDate, endDate);
-        } else {
-            attendances = attendanceRepository.findByDateBetween(startDate, endDate);
-        }
-
-        report.setTotalRecords(attendances.size());
-        report.setPresentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT).count());
-        report.setAbsentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.ABSENT).count());
-        report.setLateCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.LATE).count());
-
-        if (!attendances.isEmpty()) {
-            report.setAverageAttendance((double) report.getPresentCount() / attendances.size() * 100);
-        }
+        AttendanceStatusCounts counts = aggregateStatusCounts(startDate, endDate, classId, studentId);
+        report.setTotalRecords(counts.getTotal());
+        report.setPresentCount(counts.getPresentCount());
+        report.setAbsentCount(counts.getAbsentCount());
+        report.setLateCount(counts.getLateCount());
+        report.setAverageAttendance(counts.getAttendancePercentage());
 
         return report;
     }
 
+    @Transactional(readOnly = true)
     public List<ReportsDto.DailyAttendanceReport> generateDailyAttendanceReport(LocalDate startDate, LocalDate endDate,
             Long classId) {
         List<ReportsDto.DailyAttendanceReport> reports = new ArrayList<>();
+        Map<LocalDate, AttendanceStatusCounts> countsByDate = aggregateDailyStatusCounts(startDate, endDate, classId);
 
         LocalDate currentDate = startDate;
         while (!currentDate.isAfter(endDate)) {
             ReportsDto.DailyAttendanceReport dailyReport = new ReportsDto.DailyAttendanceReport();
             dailyReport.setDate(currentDate);
 
-            List<Attendance> dayAttendances;
-            if (classId != null) {
-                dayAttendances = findByClassAndDate(classId, currentDate);
-            } else {
-                dayAttendances = attendanceRepository.findByDate(currentDate);
-            }
-
-            dailyReport.setTotalStudents(dayAttendances.size());
-            dailyReport.setPresentCount((int) dayAttendances.stream()
-                    .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT).count());
-            dailyReport.setAbsentCount((int) dayAttendances.stream()
-                    .filter(a -> a.getStatus() == Attendance.AttendanceStatus.ABSENT).count());
-            dailyReport.setLateCount((int) dayAttendances.stream()
-                    .filter(a -> a.getStatus() == Attendance.AttendanceStatus.LATE).count());
-
-            if (dailyReport.getTotalStudents() > 0) {
-                dailyReport.setAttendancePercentage(
-                        (double) dailyReport.getPresentCount() / dailyReport.getTotalStudents() * 100);
+            AttendanceStatusCounts counts = countsByDate.get(currentDate);
+            if (counts == null) {
+                counts = new AttendanceStatusCounts();
             }
+            dailyReport.setTotalStudents(counts.getTotal());
+            dailyReport.setPresentCount(counts.getPresentCount());
+            dailyReport.setAbsentCount(counts.getAbsentCount());
+            dailyReport.setLateCount(counts.getLateCount());
+            dailyReport.setAttendancePercentage(counts.getAttendancePercentage());
 
             reports.add(dailyReport);
             currentDate = currentDate.plusDays(1);
@@ -286,92 +595,76 @@ public class AttendanceService {
         return reports;
     }
 
+    @Transactional(readOnly = true)
     public ReportsDto.StudentPerformanceReport generateStudentPerformanceReport(Long studentId, LocalDate startDate,
             LocalDate endDate) {
         ReportsDto.StudentPerformanceReport report = new ReportsDto.StudentPerformanceReport();
 
-        List<Attendance> attendances = findByStudentAndDateRange(studentId, startDate, endDate);
-        report.setTotalClasses(attendances.size());
-        report.setPresentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT).count());
-        report.setAbsentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.ABSENT).count());
-        report.setLateCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.LATE).count());
-
-        if (!attendances.isEmpty()) {
-            report.setAttendancePercentage((double) report.getPresentCount() / attendances.size() * 100);
-        }
+        AttendanceStatusCounts counts = aggregateStatusCounts(startDate, endDate, null, studentId);
+        report.setTotalClasses(counts.getTotal());
+        report.setPresentCount(counts.getPresentCount());
+        report.setAbsentCount(counts.getAbsentCount());
+        report.setLateCount(counts.getLateCount());
+        report.setAttendancePercentage(counts.getAttendancePercentage());
 
         return report;
     }
 
+    @Transactional(readOnly = true)
     public ReportsDto.ClassPerformanceReport generateClassPerformanceReport(Long classId, LocalDate startDate,
             LocalDate endDate) {
         ReportsDto.ClassPerformanceReport report = new ReportsDto.ClassPerformanceReport();
+        report.setClassId(classId);
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
 
-        List<Attendance> attendances = findByClassAndDateRange(classId, startDate, endDate);
-        report.setTotalRecords(attendances.size());
-        report.setPresentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT).count());
-        report.setAbsentCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.ABSENT).count());
-        report.setLateCount((int) attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.LATE).count());
-
-        if (!attendances.isEmpty()) {
-            report.setAverageAttendance((double) report.getPresentCount() / attendances.size() * 100);
-        }
+        AttendanceStatusCounts counts = aggregateStatusCounts(startDate, endDate, classId, null);
+        report.setTotalRecords(counts.getTotal());
+        report.setPresentCount(counts.getPresentCount());
+        report.setAbsentCount(counts.getAbsentCount());
+        report.setLateCount(counts.getLateCount());
+        report.setAverageAttendance(counts.getAttendancePercentage());
 
         return report;
     }
 
+    @ReplicaLagTolerance(maxLagMs = ReplicaLagTolerance.REPORTS_MS)
     public ReportsDto.ComparativeAnalysisReport generateComparativeAnalysisReport(LocalDate period1Start,
             LocalDate period1End, LocalDate period2Start, LocalDate period2End, Long classId) {
-        ReportsDto.ComparativeAnalysisReport report = new ReportsDto.ComparativeAnalysisReport();
-        // Implementation would compare two periods
-        return report;
+        return trendService.compare(period1Start, period1End, period2Start, period2End, classId);
     }
 
+    @ReplicaLagTolerance(maxLagMs = ReplicaLagTolerance.REPORTS_MS)
     public ReportsDto.TrendAnalysisReport generateTrendAnalysisReport(LocalDate startDate, LocalDate endDate,
             Long classId) {
-        ReportsDto.TrendAnalysisReport report = new ReportsDto.TrendAnalysisReport();
-        // Implementation would analyze trends over time
-        return report;
+        return trendService.analyzeTrend(startDate, endDate, classId);
     }
 
+    @ReplicaLagTolerance(maxLagMs = ReplicaLagTolerance.REPORTS_MS)
     public ReportsDto.AttendanceHeatmapReport generateAttendanceHeatmapReport(LocalDate startDate, LocalDate endDate,
             Long classId) {
-        ReportsDto.AttendanceHeatmapReport report = new ReportsDto.AttendanceHeatmapReport();
-        // Implementation would generate heatmap data
-        return report;
+        return generateAttendanceHeatmapReport(startDate, endDate, classId,
+                AttendanceHeatmapService.LAYOUT_WEEKDAY_HOUR);
+    }
+
+    @ReplicaLagTolerance(maxLagMs = ReplicaLagTolerance.REPORTS_MS)
+    public ReportsDto.AttendanceHeatmapReport generateAttendanceHeatmapReport(LocalDate startDate, LocalDate endDate,
+            Long classId, String layout) {
+        return heatmapService.generate(startDate, endDate, classId, layout);
     }
 
     public List<ReportsDto.StudentRankingReport> generateStudentRankingReport(LocalDate startDate, LocalDate endDate,
             Long classId, int limit) {
-        List<ReportsDto.StudentRankingReport> reports = new ArrayList<>();
-        // Implementation would rank students by attendance
-        return reports;
+        return rankingService.rankStudents(startDate, endDate, classId, limit);
     }
 
     public List<ReportsDto.ClassRankingReport> generateClassRankingReport(LocalDate startDate, LocalDate endDate,
             int limit) {
-        List<ReportsDto.ClassRankingReport> reports = new ArrayList<>();
-        // Implementation would rank classes by attendance
-        return reports;
-    }
-
-    public ReportsDto.AttendanceExportReport generateAttendanceExportReport(LocalDate startDate, LocalDate endDate,
-            Long classId, Long studentId, String format) {
-        ReportsDto.AttendanceExportReport report = new ReportsDto.AttendanceExportReport();
-        // Implementation would generate export data
-        return report;
+        return rankingService.rankClasses(startDate, endDate, limit);
     }
 
     public ReportsDto.CustomReportResponse generateCustomReport(ReportsDto.CustomReportRequest request) {
-        ReportsDto.CustomReportResponse response = new ReportsDto.CustomReportResponse();
-        // Implementation would generate custom reports
-        return response;
+        return customReportEngine.run(request);
     }
 
     public List<ReportsDto.ReportTemplate> getReportTemplates() {
@@ -379,19 +672,28 @@ public class AttendanceService {
         return new ArrayList<>();
     }
 
-    public ReportsDto.ScheduledReportResponse scheduleReport(ReportsDto.ScheduleReportRequest request) {
-        ReportsDto.ScheduledReportResponse response = new ReportsDto.ScheduledReportResponse();
-        // Implementation would schedule reports
-        return response;
-    }
+    // Outcome of one row of a bulk attendance request
+    public static class BulkMarkResult {
+        public static final String CREATED = "CREATED";
+        public static final String UPDATED = "UPDATED";
+        public static final String SKIPPED = "SKIPPED";
 
-    public List<ReportsDto.ScheduledReportResponse> getScheduledReports() {
-        // Implementation would return scheduled reports
-        return new ArrayList<>();
-    }
+        private final Long studentId;
+        private final String result;
+        private final String message;
+        private final Attendance attendance;
+
+        public BulkMarkResult(Long studentId, String result, String message, Attendance attendance) {
+            this.studentId = studentId;
+            this.result = result;
+            this.message = message;
+            this.attendance = attendance;
+        }
 
-    public void cancelScheduledReport(Long id) {
-        // Implementation would cancel scheduled reports
+        public Long getStudentId() { return studentId; }
+        public String getResult() { return result; }
+        public String getMessage() { return message; }
+        public Attendance getAttendance() { return attendance; }
     }
 
     // Helper methods for conversion
@@ -408,6 +710,34 @@ public class AttendanceService {
         return activity;
     }
 
+    private DashboardDto.RecentAttendanceActivity convertToDashboardActivity(Attendance attendance) {
+        DashboardDto.RecentAttendanceActivity activity = new DashboardDto.RecentAttendanceActivity();
+        activity.setId(attendance.getId());
+        activity.setStudentName(attendance.getStudent().getFirstName() + " " + attendance.getStudent().getLastName());
+        activity.setClassName(attendance.getClassObj().getClassName());
+        activity.setStatus(attendance.getStatus().name());
+        activity.setDate(attendance.getDate().toString());
+        if (attendance.getTimeIn() != null) {
+            activity.setTimeIn(attendance.getTimeIn().toString());
+        }
+        return activity;
+    }
+
+    private DashboardDto.AttendanceHistoryItem convertToDashboardHistoryItem(Attendance attendance) {
+        DashboardDto.AttendanceHistoryItem item = new DashboardDto.AttendanceHistoryItem();
+        item.setId(attendance.getId());
+        item.setClassName(attendance.getClassObj().getClassName());
+        item.setStatus(attendance.getStatus().name());
+        item.setDate(attendance.getDate().toString());
+        if (attendance.getTimeIn() != null) {
+            item.setTimeIn(attendance.getTimeIn().toString());
+        }
+        if (attendance.getTimeOut() != null) {
+            item.setTimeOut(attendance.getTimeOut().toString());
+        }
+        return item;
+    }
+
     private AttendanceDto.AttendanceHistoryItem convertToHistoryItem(Attendance attendance) {
         AttendanceDto.AttendanceHistoryItem item = new AttendanceDto.AttendanceHistoryItem();
         item.setId(attendance.getId());
@@ -0,0 +1,77 @@
+package com.example.studentattendance.services;
+
+import java.util.List;
+
+import com.example.studentattendance.models.Attendance;
+
+/**
+ * Primitive per-status attendance counters built from a {@code GROUP BY status}
+ * projection, so report paths never have to hydrate {@link Attendance} entities
+ * just to count them.
+ */
+public final class AttendanceStatusCounts {
+
+    private int presentCount;
+    private int absentCount;
+    private int lateCount;
+    private int excusedCount;
+    private int halfDayCount;
+
+    public AttendanceStatusCounts() {
+    }
+
+    // Build from rows shaped as [AttendanceStatus status, Long count]
+    public static AttendanceStatusCounts fromStatusRows(List<Object[]> rows) {
+        AttendanceStatusCounts counts = new AttendanceStatusCounts();
+        for (Object[] row : rows) {
+            counts.add((Attendance.AttendanceStatus) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+
+    public void add(Attendance.AttendanceStatus status, int count) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case PRESENT -> presentCount += count;
+            case ABSENT -> absentCount += count;
+            case LATE -> lateCount += count;
+            case EXCUSED -> excusedCount += count;
+            case HALF_DAY -> halfDayCount += count;
+        }
+    }
+
+    public void merge(AttendanceStatusCounts other) {
+        presentCount += other.presentCount;
+        absentCount += other.absentCount;
+        lateCount += other.lateCount;
+        excusedCount += other.excusedCount;
+        halfDayCount += other.halfDayCount;
+    }
+
+    public int getPresentCount() { return presentCount; }
+
+    public int getAbsentCount() { return absentCount; }
+
+    public int getLateCount() { return lateCount; }
+
+    public int getExcusedCount() { return excusedCount; }
+
+    public int getHalfDayCount() { return halfDayCount; }
+
+    // Every record counts towards the total, including excused and half-day ones
+    public int getTotal() {
+        return presentCount + absentCount + lateCount + excusedCount + halfDayCount;
+    }
+
+    public boolean isEmpty() {
+        return getTotal() == 0;
+    }
+
+    // Percentage of records marked PRESENT, 0 when there are no records
+    public double getAttendancePercentage() {
+        int total = getTotal();
+        return total > 0 ? (double) presentCount / total * 100 : 0.0;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.studentattendance.dto.ReportsDto;
+
+/**
+ * Comparative and trend reports over long date ranges. Ranges are split into chunks
+ * by {@link DateRangeAggregator} and each chunk is read from the daily rollup, so the
+ * work spreads across the aggregation executor. Trend buckets, moving averages and the
+ * least-squares slope are then computed in one pass over the merged daily series.
+ */
+@Service
+public class AttendanceTrendService {
+
+    public static final String IMPROVING = "IMPROVING";
+    public static final String DECLINING = "DECLINING";
+    public static final String STABLE = "STABLE";
+
+    // Moving average windows, in buckets
+    private static final int WEEKLY_WINDOW = 4;
+    private static final int MONTHLY_WINDOW = 3;
+
+    // Weekly slope (percentage points per week) and period change treated as flat
+    private static final double STABLE_SLOPE = 0.1;
+    private static final double STABLE_CHANGE = 1.0;
+
+    @Autowired
+    private DateRangeAggregator dateRangeAggregator;
+
+    @Autowired
+    private AttendanceRollupService rollupService;
+
+    public ReportsDto.ComparativeAnalysisReport compare(LocalDate period1Start, LocalDate period1End,
+            LocalDate period2Start, LocalDate period2End, Long classId) {
+        // Queue both periods before waiting so their chunks share the executor
+        List<CompletableFuture<AttendanceStatusCounts>> first = dateRangeAggregator.submit(period1Start, period1End,
+                (from, to) -> rollupService.getStatusCounts(from, to, classId));
+        List<CompletableFuture<AttendanceStatusCounts>> second = dateRangeAggregator.submit(period2Start, period2End,
+                (from, to) -> rollupService.getStatusCounts(from, to, classId));
+        AttendanceStatusCounts counts1 = merge(dateRangeAggregator.join(first));
+        AttendanceStatusCounts counts2 = merge(dateRangeAggregator.join(second));
+
+        ReportsDto.ComparisonMetrics metrics = new ReportsDto.ComparisonMetrics();
+        double attendanceChange = counts2.getAttendancePercentage() - counts1.getAttendancePercentage();
+        metrics.setAttendanceChange(attendanceChange);
+        metrics.setPresentChange(share(counts2.getPresentCount(), counts2) - share(counts1.getPresentCount(), counts1));
+        metrics.setAbsentChange(share(counts2.getAbsentCount(), counts2) - share(counts1.getAbsentCount(), counts1));
+        metrics.setLateChange(share(counts2.getLateCount(), counts2) - share(counts1.getLateCount(), counts1));
+        metrics.setTrend(classify(attendanceChange, STABLE_CHANGE));
+
+        ReportsDto.ComparativeAnalysisReport report = new ReportsDto.ComparativeAnalysisReport();
+        report.setPeriod1Start(period1Start);
+        report.setPeriod1End(period1End);
+        report.setPeriod2Start(period2Start);
+        report.setPeriod2End(period2End);
+        report.setPeriod1(toPeriod(period1Start, period1End, counts1));
+        report.setPeriod2(toPeriod(period2Start, period2End, counts2));
+        report.setComparison(metrics);
+        return report;
+    }
+
+    public ReportsDto.TrendAnalysisReport analyzeTrend(LocalDate startDate, LocalDate endDate, Long classId) {
+        List<DailySeries> chunks = dateRangeAggregator.aggregate(startDate, endDate,
+                (from, to) -> DailySeries.of(from, to, rollupService.getDailyStatusCounts(from, to, classId)));
+
+        BucketBuilder<ReportsDto.WeeklyTrend> weeks = new BucketBuilder<>(WEEKLY_WINDOW, (date, bucket) -> {
+            ReportsDto.WeeklyTrend trend = new ReportsDto.WeeklyTrend();
+            int week = date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            int year = date.get(IsoFields.WEEK_BASED_YEAR);
+            trend.setWeek(String.format("%d-W%02d", year, week));
+            trend.setYear(year);
+            trend.setAttendancePercentage(bucket.percentage());
+            trend.setTotalRecords(bucket.total());
+            trend.setMovingAverage(bucket.movingAverage());
+            return trend;
+        });
+        BucketBuilder<ReportsDto.MonthlyTrend> months = new BucketBuilder<>(MONTHLY_WINDOW, (date, bucket) -> {
+            ReportsDto.MonthlyTrend trend = new ReportsDto.MonthlyTrend();
+            trend.setMonth(date.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+            trend.setYear(date.getYear());
+            trend.setAttendancePercentage(bucket.percentage());
+            trend.setTotalRecords(bucket.total());
+            trend.setMovingAverage(bucket.movingAverage());
+            return trend;
+        });
+
+        // Single pass over the days: fill weekly and monthly buckets, closing each on its boundary
+        for (DailySeries chunk : chunks) {
+            for (int day = 0; day < chunk.present().length; day++) {
+                LocalDate date = chunk.from().plusDays(day);
+                long weekKey = date.get(IsoFields.WEEK_BASED_YEAR) * 100L
+                        + date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+                weeks.add(date, weekKey, chunk.present()[day], chunk.total()[day]);
+                months.add(date, date.getYear() * 100L + date.getMonthValue(), chunk.present()[day],
+                        chunk.total()[day]);
+            }
+        }
+        weeks.close();
+        months.close();
+
+        double slope = weeks.slope();
+        ReportsDto.TrendAnalysisReport report = new ReportsDto.TrendAnalysisReport();
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
+        report.setWeeklyTrends(weeks.results());
+        report.setMonthlyTrends(months.results());
+        report.setTrendSlope(slope);
+        report.setOverallTrend(classify(slope, STABLE_SLOPE));
+        return report;
+    }
+
+    private static AttendanceStatusCounts merge(List<AttendanceStatusCounts> partials) {
+        AttendanceStatusCounts merged = new AttendanceStatusCounts();
+        partials.forEach(merged::merge);
+        return merged;
+    }
+
+    private static ReportsDto.PeriodComparison toPeriod(LocalDate startDate, LocalDate endDate,
+            AttendanceStatusCounts counts) {
+        Map<String, Integer> byStatus = new LinkedHashMap<>();
+        byStatus.put("PRESENT", counts.getPresentCount());
+        byStatus.put("ABSENT", counts.getAbsentCount());
+        byStatus.put("LATE", counts.getLateCount());
+        byStatus.put("EXCUSED", counts.getExcusedCount());
+        byStatus.put("HALF_DAY", counts.getHalfDayCount());
+
+        ReportsDto.PeriodComparison period = new ReportsDto.PeriodComparison();
+        period.setStartDate(startDate);
+        period.setEndDate(endDate);
+        period.setTotalRecords(counts.getTotal());
+        period.setAverageAttendance(counts.getAttendancePercentage());
+        period.setAttendanceByStatus(byStatus);
+        return period;
+    }
+
+    // Share of all records in the period, in percent
+    private static double share(int count, AttendanceStatusCounts counts) {
+        return counts.getTotal() > 0 ? (double) count / counts.getTotal() * 100 : 0.0;
+    }
+
+    private static String classify(double change, double stableBand) {
+        if (change > stableBand) {
+            return IMPROVING;
+        }
+        return change < -stableBand ? DECLINING : STABLE;
+    }
+
+    // Present/total per day for one chunk, indexed by days since from
+    private record DailySeries(LocalDate from, int[] present, int[] total) {
+        static DailySeries of(LocalDate from, LocalDate to, Map<LocalDate, AttendanceStatusCounts> countsByDate) {
+            int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+            int[] present = new int[days];
+            int[] total = new int[days];
+            countsByDate.forEach((date, counts) -> {
+                int day = (int) ChronoUnit.DAYS.between(from, date);
+                present[day] = counts.getPresentCount();
+                total[day] = counts.getTotal();
+            });
+            return new DailySeries(from, present, total);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BucketMapper<T> {
+        T map(LocalDate firstDay, BucketBuilder<T> bucket);
+    }
+
+    /**
+     * Accumulates consecutive days into buckets (weeks or months). A ring of the last
+     * {@code window} buckets gives a record-weighted moving average, and running sums
+     * give the least-squares slope of bucket percentage over bucket index; empty
+     * buckets keep their index but are left out of the fit.
+     */
+    private static final class BucketBuilder<T> {
+
+        private final BucketMapper<T> mapper;
+        private final List<T> results = new ArrayList<>();
+        private final long[] windowPresent;
+        private final long[] windowTotal;
+        private long windowPresentSum;
+        private long windowTotalSum;
+
+        private long key = Long.MIN_VALUE;
+        private LocalDate firstDay;
+        private int present;
+        private int total;
+        private int index;
+
+        private double n;
+        private double sumX;
+        private double sumY;
+        private double sumXY;
+        private double sumXX;
+
+        BucketBuilder(int window, BucketMapper<T> mapper) {
+            this.mapper = mapper;
+            this.windowPresent = new long[window];
+            this.windowTotal = new long[window];
+        }
+
+        void add(LocalDate date, long bucketKey, int dayPresent, int dayTotal) {
+            if (bucketKey != key) {
+                close();
+                key = bucketKey;
+                firstDay = date;
+            }
+            present += dayPresent;
+            total += dayTotal;
+        }
+
+        void close() {
+            if (firstDay == null) {
+                return;
+            }
+            int slot = index % windowPresent.length;
+            windowPresentSum += present - windowPresent[slot];
+            windowTotalSum += total - windowTotal[slot];
+            windowPresent[slot] = present;
+            windowTotal[slot] = total;
+
+            if (total > 0) {
+                double y = percentage();
+                n++;
+                sumX += index;
+                sumY += y;
+                sumXY += index * y;
+                sumXX += (double) index * index;
+            }
+
+            results.add(mapper.map(firstDay, this));
+            index++;
+            firstDay = null;
+            present = 0;
+            total = 0;
+        }
+
+        double percentage() {
+            return total > 0 ? (double) present / total * 100 : 0.0;
+        }
+
+        int total() {
+            return total;
+        }
+
+        double movingAverage() {
+            return windowTotalSum > 0 ? (double) windowPresentSum / windowTotalSum * 100 : 0.0;
+        }
+
+        double slope() {
+            double denominator = n * sumXX - sumX * sumX;
+            return n > 1 && denominator != 0 ? (n * sumXY - sumX * sumY) / denominator : 0.0;
+        }
+
+        List<T> results() {
+            return results;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.studentattendance.services;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps concurrent attendance write transactions one below the primary pool size. Attendance
+ * ids come from a table generator whose optimizer refills its block under a lock, on a second
+ * connection in its own transaction; if every pooled connection belonged to a writer queued on
+ * that lock, the refill would wait out the connection timeout and the request would fail. With
+ * one connection always left to others, the refill can get it. Callers must not already hold a
+ * connection (no surrounding transaction, open-in-view off as in prod).
+ */
+@Component
+public class AttendanceWriteLimiter {
+
+    // The primary pool is built from spring.datasource.hikari with or without a read replica; Hikari defaults
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long timeoutMs;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(Math.max(1, poolSize - 1), true);
+    }
+
+    public <T> T run(Supplier<T> write) {
+        try {
+            if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new AttendanceWriteRejectedException("Too many concurrent attendance writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AttendanceWriteRejectedException("Interrupted waiting for an attendance write slot");
+        }
+        try {
+            return write.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.studentattendance.services;
+
+// Thrown when no attendance write slot frees up within the connection timeout; controllers answer 429
+public class AttendanceWriteRejectedException extends RuntimeException {
+
+    public AttendanceWriteRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,23 @@
 package com.example.studentattendance.services;
 
 import java.time.LocalDate;
+import java.time.format.TextStyle;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.example.studentattendance.config.CacheConfig;
+import com.example.studentattendance.config.PaginationProperties;
 import com.example.studentattendance.models.Class;
 import com.example.studentattendance.models.User;
 import com.example.studentattendance.repositories.ClassRepository;
@@ -17,10 +28,24 @@ public class ClassService {
     @Autowired
     private ClassRepository classRepository;
 
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
     public List<Class> findAll() {
         return classRepository.findAll();
     }
 
+    // Keyset page of classes ordered by id; the cursor is the last id of the previous page
+    public KeysetPage<Class> findPage(String cursor, Integer limit) {
+        Long afterId = KeysetPage.decodeIdCursor(cursor);
+        int pageSize = paginationProperties.resolveLimit(limit);
+        List<Class> fetched = classRepository.findPageAfter(afterId, PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(fetched, pageSize, classObj -> KeysetPage.encodeCursor(classObj.getId()));
+    }
+
     public List<Class> findActiveClasses() {
         return classRepository.findByIsActiveTrue();
     }
@@ -34,35 +59,106 @@ public class ClassService {
     }
 
     public List<Class> findUpcomingClasses(LocalDate startDate, LocalDate endDate) {
-        return classRepository.findUpcomingClasses(startDate, endDate);
+        return classRepository.findUpcomingClasses(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
+    // Schedules are free text such as "Mon 9:00 AM - 10:30 AM", so match on the short day name
+    public int getTodayClassesCount() {
+        return classRepository.findByScheduleDay(todayScheduleDay()).size();
+    }
+
+    public List<Class> getTodayClassesForTeacher(Long teacherId) {
+        return classRepository.findByTeacherIdAndScheduleDay(teacherId, todayScheduleDay());
+    }
+
+    public List<Class> getEnrolledClassesForStudent(Long studentId) {
+        return classRepository.findEnrolledByStudentId(studentId);
+    }
+
+    public List<Class> getTodayClassesForStudent(Long studentId) {
+        return classRepository.findEnrolledByStudentIdAndScheduleDay(studentId, todayScheduleDay());
+    }
+
+    // Used by @PreAuthorize expressions
+    public boolean isTeacherOfClass(Long classId, Long teacherId) {
+        return classRepository.isTeacherOfClass(classId, teacherId);
+    }
+
+    public boolean isStudentEnrolled(Long classId, Long studentId) {
+        return classRepository.isStudentEnrolled(classId, studentId);
+    }
+
+    public long countTotalEnrolledStudents() {
+        return classRepository.countEnrolledStudents();
+    }
+
+    public long countEnrollments(Long classId) {
+        return classRepository.countEnrollmentsByClassId(classId);
+    }
+
+    // Enrollments per class, over all classes
+    public double getAverageClassSize() {
+        long classes = countAll();
+        return classes > 0 ? (double) classRepository.countEnrollments() / classes : 0.0;
+    }
+
+    public List<String> getClassDistributionLabels() {
+        return classRepository.countActiveClassesBySubject().stream()
+                .map(row -> row[0] != null ? (String) row[0] : "Other")
+                .collect(Collectors.toList());
+    }
+
+    public List<Integer> getClassDistributionData() {
+        return classRepository.countActiveClassesBySubject().stream()
+                .map(row -> ((Number) row[1]).intValue())
+                .collect(Collectors.toList());
+    }
+
+    private static String todayScheduleDay() {
+        return LocalDate.now().getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
     }
 
     public Optional<Class> findById(Long id) {
         return classRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CLASS_COUNTS, allEntries = true)
     public Class save(Class classObj) {
-        return classRepository.save(classObj);
+        Class saved = classRepository.save(classObj);
+        searchIndexService.indexClass(saved);
+        return saved;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CLASS_COUNTS, allEntries = true)
     public void deleteById(Long id) {
         classRepository.deleteById(id);
+        searchIndexService.removeClass(id);
     }
 
+    @Cacheable(cacheNames = CacheConfig.CLASS_COUNTS, key = "'all'")
     public long countAll() {
         return classRepository.count();
     }
 
+    @Cacheable(cacheNames = CacheConfig.CLASS_COUNTS, key = "'active'")
     public long countActiveClasses() {
         return classRepository.countByIsActiveTrue();
     }
 
+    @Cacheable(cacheNames = CacheConfig.CLASS_COUNTS, key = "'teacher:' + #teacherId")
     public long countClassesByTeacher(Long teacherId) {
         return classRepository.countByTeacherId(teacherId);
     }
 
-    public List<Class> searchClasses(String searchTerm) {
-        return classRepository.searchClasses(searchTerm);
+    // Ranked matches among active classes from the in-memory search index, best first
+    public List<Class> searchClasses(String searchTerm, Integer limit) {
+        List<Long> ids = searchIndexService.searchClassIds(searchTerm, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Class> byId = classRepository.findWithTeacherByIdIn(ids).stream()
+                .collect(Collectors.toMap(Class::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 
     public List<Class> findBySemesterAndAcademicYear(String semester, String academicYear) {
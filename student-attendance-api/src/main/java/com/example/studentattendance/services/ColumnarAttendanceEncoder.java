@@ -0,0 +1,145 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.studentattendance.dto.AttendanceDto;
+import com.example.studentattendance.models.Attendance;
+import com.example.studentattendance.models.User;
+
+/**
+ * Encodes a page of attendance rows (associations loaded) into the columnar response
+ * shape. One pass fills the per-row arrays and grows the student, class and markedBy
+ * dictionaries in first-seen order; dates and update times are stored as offsets from
+ * the earliest value in the page.
+ */
+public final class ColumnarAttendanceEncoder {
+
+    private static final List<String> STATUS_VALUES = Arrays.stream(Attendance.AttendanceStatus.values())
+            .map(Enum::name)
+            .toList();
+
+    private ColumnarAttendanceEncoder() {
+    }
+
+    public static AttendanceDto.ColumnarAttendanceResponse encode(List<Attendance> attendances) {
+        int rows = attendances.size();
+        LocalDate baseDate = null;
+        LocalDateTime baseUpdatedAt = null;
+        for (Attendance attendance : attendances) {
+            if (attendance.getDate() != null && (baseDate == null || attendance.getDate().isBefore(baseDate))) {
+                baseDate = attendance.getDate();
+            }
+            LocalDateTime updatedAt = attendance.getUpdatedAt();
+            if (updatedAt != null && (baseUpdatedAt == null || updatedAt.isBefore(baseUpdatedAt))) {
+                baseUpdatedAt = updatedAt;
+            }
+        }
+
+        long[] ids = new long[rows];
+        int[] dayOffsets = new int[rows];
+        byte[] statuses = new byte[rows];
+        int[] studentRefs = new int[rows];
+        int[] classRefs = new int[rows];
+        short[] timeIn = new short[rows];
+        short[] timeOut = new short[rows];
+        int[] markedByRefs = new int[rows];
+        int[] updatedAtSeconds = new int[rows];
+        Map<Integer, String> notes = new LinkedHashMap<>();
+
+        Dictionary<Long> students = new Dictionary<>();
+        List<String> studentNames = new ArrayList<>();
+        Dictionary<Long> classes = new Dictionary<>();
+        List<String> classNames = new ArrayList<>();
+        Dictionary<String> markedBy = new Dictionary<>();
+
+        for (int i = 0; i < rows; i++) {
+            Attendance attendance = attendances.get(i);
+            ids[i] = attendance.getId();
+            dayOffsets[i] = attendance.getDate() != null ? (int) ChronoUnit.DAYS.between(baseDate, attendance.getDate())
+                    : -1;
+            statuses[i] = attendance.getStatus() != null ? (byte) attendance.getStatus().ordinal() : -1;
+
+            User student = attendance.getStudent();
+            int studentRef = students.size();
+            studentRefs[i] = students.ref(student.getId());
+            if (studentRefs[i] == studentRef) {
+                studentNames.add(student.getFirstName() + " " + student.getLastName());
+            }
+            int classRef = classes.size();
+            classRefs[i] = classes.ref(attendance.getClassObj().getId());
+            if (classRefs[i] == classRef) {
+                classNames.add(attendance.getClassObj().getClassName());
+            }
+
+            timeIn[i] = minutes(attendance.getTimeIn());
+            timeOut[i] = minutes(attendance.getTimeOut());
+            markedByRefs[i] = attendance.getMarkedBy() != null ? markedBy.ref(attendance.getMarkedBy()) : -1;
+            updatedAtSeconds[i] = attendance.getUpdatedAt() != null
+                    ? (int) ChronoUnit.SECONDS.between(baseUpdatedAt, attendance.getUpdatedAt())
+                    : -1;
+            if (attendance.getNotes() != null) {
+                notes.put(i, attendance.getNotes());
+            }
+        }
+
+        AttendanceDto.ColumnarAttendanceResponse response = new AttendanceDto.ColumnarAttendanceResponse();
+        response.setRowCount(rows);
+        response.setBaseDate(baseDate);
+        response.setBaseUpdatedAt(baseUpdatedAt);
+        response.setIds(ids);
+        response.setDayOffsets(dayOffsets);
+        response.setStatuses(statuses);
+        response.setStatusValues(STATUS_VALUES);
+        response.setStudentRefs(studentRefs);
+        response.setStudentIds(students.keys().stream().mapToLong(Long::longValue).toArray());
+        response.setStudentNames(studentNames);
+        response.setClassRefs(classRefs);
+        response.setClassIds(classes.keys().stream().mapToLong(Long::longValue).toArray());
+        response.setClassNames(classNames);
+        response.setTimeInMinutes(timeIn);
+        response.setTimeOutMinutes(timeOut);
+        response.setMarkedByRefs(markedByRefs);
+        response.setMarkedByValues(markedBy.keys());
+        response.setUpdatedAtSeconds(updatedAtSeconds);
+        response.setNotes(notes);
+        return response;
+    }
+
+    private static short minutes(LocalTime time) {
+        return time != null ? (short) (time.getHour() * 60 + time.getMinute()) : -1;
+    }
+
+    // Assigns each distinct key the next index, in first-seen order
+    private static final class Dictionary<K> {
+
+        private final Map<K, Integer> refs = new HashMap<>();
+        private final List<K> keys = new ArrayList<>();
+
+        int ref(K key) {
+            Integer ref = refs.get(key);
+            if (ref == null) {
+                ref = keys.size();
+                refs.put(key, ref);
+                keys.add(key);
+            }
+            return ref;
+        }
+
+        int size() {
+            return keys.size();
+        }
+
+        List<K> keys() {
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.studentattendance.config.CacheConfig;
+import com.example.studentattendance.config.ReplicaLagTolerance;
+import com.example.studentattendance.dto.ReportsDto;
+import com.example.studentattendance.models.Attendance;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Runs {@code POST /reports/custom} requests as one grouped JPQL projection. The
+ * request's group-bys, metrics and the set of filters present are compiled into a
+ * {@link Plan} built only from whitelisted fragments, and plans are cached by that
+ * shape; filter values are always bound as parameters. Every run is capped in rows,
+ * date span and statement time.
+ *
+ * Request parameters: {@code groupBy} (date, status, class, student, department),
+ * {@code status}, {@code department} and {@code limit}; {@code metrics} come from the
+ * request body.
+ */
+@Service
+public class CustomReportEngine {
+
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    private static final List<String> DEFAULT_METRICS = List.of("count");
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.reports.custom.max-rows:1000}")
+    private int maxRows;
+
+    @Value("${app.reports.custom.max-days:366}")
+    private int maxDays;
+
+    @Value("${app.reports.custom.timeout-ms:5000}")
+    private int timeoutMs;
+
+    private Cache<Object, Object> plans;
+
+    @PostConstruct
+    void init() {
+        plans = ((CaffeineCache) cacheManager.getCache(CacheConfig.REPORT_PLANS)).getNativeCache();
+    }
+
+    @ReplicaLagTolerance(maxLagMs = ReplicaLagTolerance.REPORTS_MS)
+    @Transactional(readOnly = true)
+    public ReportsDto.CustomReportResponse run(ReportsDto.CustomReportRequest request) {
+        Map<String, Object> parameters = request.getParameters() != null ? request.getParameters() : Map.of();
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate and endDate are required");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxDays) {
+            throw new IllegalArgumentException("Custom reports are limited to " + maxDays + " days");
+        }
+
+        Set<Attendance.AttendanceStatus> statuses = parseStatuses(parameters.get("status"));
+        String department = parameters.get("department") != null ? parameters.get("department").toString() : null;
+        int limit = parseLimit(parameters.get("limit"));
+
+        Shape shape = new Shape(
+                parseList(parameters.get("groupBy")).stream().map(Dimension::parse).distinct().toList(),
+                (request.getMetrics() == null || request.getMetrics().isEmpty() ? DEFAULT_METRICS
+                        : request.getMetrics()).stream().map(Metric::parse).distinct().toList(),
+                request.getClassId() != null, request.getStudentId() != null, !statuses.isEmpty(),
+                department != null);
+        Plan plan = (Plan) plans.get(shape, key -> compile((Shape) key));
+
+        TypedQuery<Object[]> query = entityManager.createQuery(plan.jpql(), Object[].class)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setHint("jakarta.persistence.query.timeout", timeoutMs)
+                .setHint("org.hibernate.readOnly", true)
+                .setMaxResults(limit + 1);
+        plan.statusConstants().forEach(query::setParameter);
+        if (shape.byClass()) {
+            query.setParameter("classId", request.getClassId());
+        }
+        if (shape.byStudent()) {
+            query.setParameter("studentId", request.getStudentId());
+        }
+        if (shape.byStatus()) {
+            query.setParameter("statuses", statuses);
+        }
+        if (shape.byDepartment()) {
+            query.setParameter("department", department);
+        }
+
+        List<Object[]> rows;
+        try {
+            rows = query.getResultList();
+        } catch (QueryTimeoutException e) {
+            throw new IllegalArgumentException("Custom report exceeded " + timeoutMs + " ms; narrow the filters", e);
+        }
+
+        boolean truncated = rows.size() > limit;
+        List<Object[]> kept = truncated ? rows.subList(0, limit) : rows;
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("columns", plan.columns());
+        data.put("rows", kept);
+        data.put("rowCount", kept.size());
+        data.put("truncated", truncated);
+
+        ReportsDto.CustomReportResponse response = new ReportsDto.CustomReportResponse();
+        response.setReportId(UUID.randomUUID().toString());
+        response.setReportType(request.getReportType());
+        response.setStatus(STATUS_COMPLETED);
+        response.setGeneratedAt(LocalDateTime.now());
+        response.setData(data);
+        return response;
+    }
+
+    private Plan compile(Shape shape) {
+        List<String> columns = new ArrayList<>();
+        List<String> select = new ArrayList<>();
+        List<String> groupBy = new ArrayList<>();
+        Map<String, Attendance.AttendanceStatus> statusConstants = new LinkedHashMap<>();
+
+        for (Dimension dimension : shape.dimensions()) {
+            for (int i = 0; i < dimension.columns.length; i++) {
+                columns.add(dimension.columns[i]);
+                select.add(dimension.expressions[i]);
+                groupBy.add(dimension.expressions[i]);
+            }
+        }
+        for (Metric metric : shape.metrics()) {
+            columns.add(metric.column);
+            select.add(metric.expression);
+            if (metric.status != null) {
+                statusConstants.put(metric.status.name().toLowerCase(Locale.ROOT), metric.status);
+            }
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT ").append(String.join(", ", select))
+                .append(" FROM Attendance a JOIN a.classObj c JOIN a.student s")
+                .append(" WHERE a.date BETWEEN :startDate AND :endDate");
+        if (shape.byClass()) {
+            jpql.append(" AND c.id = :classId");
+        }
+        if (shape.byStudent()) {
+            jpql.append(" AND s.id = :studentId");
+        }
+        if (shape.byStatus()) {
+            jpql.append(" AND a.status IN :statuses");
+        }
+        if (shape.byDepartment()) {
+            jpql.append(" AND s.department = :department");
+        }
+        if (!groupBy.isEmpty()) {
+            String groups = String.join(", ", groupBy);
+            jpql.append(" GROUP BY ").append(groups).append(" ORDER BY ").append(groups);
+        }
+        return new Plan(jpql.toString(), List.copyOf(columns), Map.copyOf(statusConstants));
+    }
+
+    private int parseLimit(Object value) {
+        if (value == null) {
+            return maxRows;
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid limit: " + value);
+        }
+        if (limit < 1 || limit > maxRows) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxRows);
+        }
+        return limit;
+    }
+
+    private static Set<Attendance.AttendanceStatus> parseStatuses(Object value) {
+        Set<Attendance.AttendanceStatus> statuses = EnumSet.noneOf(Attendance.AttendanceStatus.class);
+        for (String status : parseList(value)) {
+            statuses.add(Attendance.AttendanceStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+        }
+        return statuses;
+    }
+
+    // Accept either a JSON array or a comma-separated string
+    private static List<String> parseList(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        Collection<?> items = value instanceof Collection<?> collection ? collection
+                : Arrays.asList(value.toString().split(","));
+        return items.stream()
+                .map(item -> item.toString().trim())
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    // Everything that changes the JPQL text; filter values are not part of it
+    private record Shape(List<Dimension> dimensions, List<Metric> metrics, boolean byClass, boolean byStudent,
+            boolean byStatus, boolean byDepartment) {
+    }
+
+    private record Plan(String jpql, List<String> columns, Map<String, Attendance.AttendanceStatus> statusConstants) {
+    }
+
+    private enum Dimension {
+        DATE(new String[] { "date" }, new String[] { "a.date" }),
+        STATUS(new String[] { "status" }, new String[] { "a.status" }),
+        CLASS(new String[] { "classId", "className" }, new String[] { "c.id", "c.className" }),
+        STUDENT(new String[] { "studentId", "firstName", "lastName" },
+                new String[] { "s.id", "s.firstName", "s.lastName" }),
+        DEPARTMENT(new String[] { "department" }, new String[] { "s.department" });
+
+        private final String[] columns;
+        private final String[] expressions;
+
+        Dimension(String[] columns, String[] expressions) {
+            this.columns = columns;
+            this.expressions = expressions;
+        }
+
+        static Dimension parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported groupBy: " + name);
+            }
+        }
+    }
+
+    private enum Metric {
+        COUNT("count", "COUNT(a)", null),
+        PRESENT("present", "SUM(CASE WHEN a.status = :present THEN 1 ELSE 0 END)", Attendance.AttendanceStatus.PRESENT),
+        ABSENT("absent", "SUM(CASE WHEN a.status = :absent THEN 1 ELSE 0 END)", Attendance.AttendanceStatus.ABSENT),
+        LATE("late", "SUM(CASE WHEN a.status = :late THEN 1 ELSE 0 END)", Attendance.AttendanceStatus.LATE),
+        EXCUSED("excused", "SUM(CASE WHEN a.status = :excused THEN 1 ELSE 0 END)",
+                Attendance.AttendanceStatus.EXCUSED),
+        ATTENDANCE_RATE("attendanceRate", "100.0 * SUM(CASE WHEN a.status = :present THEN 1 ELSE 0 END) / COUNT(a)",
+                Attendance.AttendanceStatus.PRESENT),
+        STUDENTS("students", "COUNT(DISTINCT s.id)", null),
+        CLASSES("classes", "COUNT(DISTINCT c.id)", null),
+        SESSIONS("sessions", "COUNT(DISTINCT a.date)", null);
+
+        private final String column;
+        private final String expression;
+        private final Attendance.AttendanceStatus status;
+
+        Metric(String column, String expression, Attendance.AttendanceStatus status) {
+            this.column = column;
+            this.expression = expression;
+            this.status = status;
+        }
+
+        static Metric parse(String name) {
+            for (Metric metric : values()) {
+                if (metric.column.equalsIgnoreCase(name.trim())) {
+                    return metric;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported metric: " + name);
+        }
+    }
+}
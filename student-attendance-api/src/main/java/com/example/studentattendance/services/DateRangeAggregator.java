@@ -0,0 +1,94 @@
+package com.example.studentattendance.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.studentattendance.config.ReplicaRoutingDataSource;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Splits a date range into fixed-size chunks and aggregates them concurrently on the
+ * bounded {@code aggregationExecutor}, each chunk in its own read-only transaction.
+ * Partial results are returned in chunk order for the caller to merge, so long
+ * ranges finish in roughly (chunks / cores) query times instead of one long scan.
+ */
+@Service
+public class DateRangeAggregator {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("aggregationExecutor")
+    private ThreadPoolTaskExecutor aggregationExecutor;
+
+    @Value("${app.reports.aggregation.chunk-days:31}")
+    private int chunkDays;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Aggregate every chunk and wait for all of them
+    public <P> List<P> aggregate(LocalDate startDate, LocalDate endDate, ChunkFunction<P> function) {
+        return join(submit(startDate, endDate, function));
+    }
+
+    // Queue every chunk without waiting, so several ranges can share the executor
+    public <P> List<CompletableFuture<P>> submit(LocalDate startDate, LocalDate endDate, ChunkFunction<P> function) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        int step = Math.max(1, chunkDays);
+        // Chunk threads read with the caller's replica lag tolerance
+        Long maxLagMs = ReplicaRoutingDataSource.currentMaxLag();
+        List<CompletableFuture<P>> chunks = new ArrayList<>();
+        for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusDays(step)) {
+            LocalDate chunkStart = from;
+            LocalDate last = from.plusDays(step - 1L);
+            LocalDate chunkEnd = last.isAfter(endDate) ? endDate : last;
+            chunks.add(CompletableFuture.supplyAsync(() -> ReplicaRoutingDataSource.callWithMaxLag(maxLagMs,
+                    () -> readOnlyTransaction.execute(status -> function.apply(chunkStart, chunkEnd))),
+                    aggregationExecutor));
+        }
+        return chunks;
+    }
+
+    // Wait for queued chunks in order; a failed chunk rethrows its original exception
+    public <P> List<P> join(List<CompletableFuture<P>> chunks) {
+        List<P> partials = new ArrayList<>(chunks.size());
+        try {
+            for (CompletableFuture<P> chunk : chunks) {
+                partials.add(chunk.join());
+            }
+        } catch (CompletionException e) {
+            chunks.forEach(chunk -> chunk.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return partials;
+    }
+
+    @FunctionalInterface
+    public interface ChunkFunction<P> {
+        P apply(LocalDate from, LocalDate to);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.studentattendance.services;
+
+/**
+ * Dense rows x columns grid of present/total counts held in two flat row-major
+ * {@code int[]} arrays. Partial matrices built over separate date chunks are
+ * combined with {@link #mergeInto(HeatmapMatrix, int)}.
+ */
+public final class HeatmapMatrix {
+
+    private final int rows;
+    private final int columns;
+    private final int[] present;
+    private final int[] total;
+
+    public HeatmapMatrix(int rows, int columns) {
+        if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid heatmap size: " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.present = new int[rows * columns];
+        this.total = new int[rows * columns];
+    }
+
+    public void add(int row, int column, int presentCount, int totalCount) {
+        int index = index(row, column);
+        present[index] += presentCount;
+        total[index] += totalCount;
+    }
+
+    // Add every cell of this matrix to target, starting at the given target row
+    public void mergeInto(HeatmapMatrix target, int rowOffset) {
+        if (target.columns != columns || rowOffset < 0 || rowOffset + rows > target.rows) {
+            throw new IllegalArgumentException("Partial heatmap does not fit target at row " + rowOffset);
+        }
+        int base = rowOffset * columns;
+        for (int i = 0; i < present.length; i++) {
+            target.present[base + i] += present[i];
+            target.total[base + i] += total[i];
+        }
+    }
+
+    public int getRows() { return rows; }
+
+    public int getColumns() { return columns; }
+
+    public int getPresent(int row, int column) { return present[index(row, column)]; }
+
+    public int getTotal(int row, int column) { return total[index(row, column)]; }
+
+    // Rounded percentage of present records in a cell, 0 when the cell is empty
+    public int getPercentage(int row, int column) {
+        int index = index(row, column);
+        return total[index] > 0 ? (int) Math.round((double) present[index] / total[index] * 100) : 0;
+    }
+
+    // Backing arrays, row-major; shared rather than copied so serialization does not duplicate them
+    public int[] getPresentCounts() { return present; }
+
+    public int[] getTotalCounts() { return total; }
+
+    private int index(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Cell " + row + "," + column + " outside " + rows + "x" + columns);
+        }
+        return row * columns + column;
+    }
+}
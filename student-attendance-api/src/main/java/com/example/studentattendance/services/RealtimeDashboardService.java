@@ -0,0 +1,223 @@
+package com.example.studentattendance.services;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.studentattendance.dto.DashboardDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Realtime dashboard snapshot shared by the poll endpoint and the SSE stream. Attendance
+ * changes only mark the snapshot dirty; a short fixed-delay flush recomputes it at most once
+ * per window, serializes it once and fans the same payload out to every subscriber. Polls
+ * follow the same window: a change younger than the window is served from the current
+ * snapshot, and concurrent callers that queue on the refresh lock reuse the result of the
+ * one that got there first.
+ */
+@Service
+public class RealtimeDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RealtimeDashboardService.class);
+
+    private static final String SNAPSHOT_EVENT = "realtime";
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    // A lock rather than synchronized: refresh blocks on JDBC and must not pin a virtual thread's carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile DashboardDto.RealTimeData snapshot;
+    private volatile String snapshotJson;
+    private volatile long snapshotTakenAt;
+    private volatile long snapshotVersion;
+    // Only touched by the flush thread
+    private long broadcastVersion;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private SystemMetricsService systemMetricsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.realtime.coalesce-ms:1000}")
+    private long coalesceMs;
+
+    @Value("${app.realtime.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    // Upper bound on snapshot age, so login counts and the clock still move when attendance is idle
+    @Value("${app.realtime.max-snapshot-age-ms:30000}")
+    private long maxSnapshotAgeMs;
+
+    // Mean HTTP latency above which the snapshot carries a SLOW_RESPONSES alert
+    @Value("${app.realtime.alerts.slow-response-ms:1000}")
+    private double slowResponseMs;
+
+    public DashboardDto.RealTimeData getSnapshot() {
+        if (needsRefresh(coalesceMs)) {
+            refresh(coalesceMs);
+        }
+        return snapshot;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+
+        getSnapshot();
+        send(emitter, snapshotJson);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        dirty.set(true);
+    }
+
+    // Coalesce every change in the window into one recomputation and one broadcast
+    @Scheduled(fixedDelayString = "${app.realtime.coalesce-ms:1000}")
+    public void flush() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (needsRefresh(0)) {
+            refresh(0);
+        }
+        // Also broadcast snapshots a poll computed since the last flush
+        long version = snapshotVersion;
+        if (version == broadcastVersion) {
+            return;
+        }
+        broadcastVersion = version;
+        String payload = snapshotJson;
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, payload);
+        }
+    }
+
+    // Comment frames keep idle connections open through proxies
+    @Scheduled(fixedDelayString = "${app.realtime.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+            }
+        }
+    }
+
+    // Changes are picked up once the snapshot is at least minChangeAgeMs old
+    private boolean needsRefresh(long minChangeAgeMs) {
+        if (snapshot == null || isStale()) {
+            return true;
+        }
+        return dirty.get() && System.currentTimeMillis() - snapshotTakenAt >= minChangeAgeMs;
+    }
+
+    private void refresh(long minChangeAgeMs) {
+        refreshLock.lock();
+        try {
+            // Another caller may have refreshed while this one waited for the lock
+            if (!needsRefresh(minChangeAgeMs)) {
+                return;
+            }
+            // Clear first so a change landing mid-computation triggers another pass
+            dirty.set(false);
+
+            DashboardDto.RealTimeData data = new DashboardDto.RealTimeData();
+            data.setCurrentTime(LocalDateTime.now());
+            data.setActiveSessions(userService.getActiveSessionsCount());
+            data.setTodayAttendanceUpdates(attendanceService.getTodayAttendanceUpdatesCount());
+            data.setRecentLogins(systemMetricsService.getRecentLogins(1)); // Last hour
+            data.setSystemAlerts(getSystemAlerts());
+
+            try {
+                snapshotJson = objectMapper.writeValueAsString(data);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize realtime snapshot", e);
+            }
+            snapshot = data;
+            snapshotTakenAt = System.currentTimeMillis();
+            snapshotVersion++;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean isStale() {
+        return System.currentTimeMillis() - snapshotTakenAt > maxSnapshotAgeMs;
+    }
+
+    private void send(SseEmitter emitter, String payload) {
+        try {
+            emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).data(payload, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            logger.debug("Dropping realtime subscriber: {}", e.getMessage());
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+        } catch (IllegalStateException e) {
+            // Emitter already completed or timed out
+            subscribers.remove(emitter);
+        }
+    }
+
+    // Alerts derived from live metrics; empty while nothing needs attention
+    private List<DashboardDto.SystemAlert> getSystemAlerts() {
+        List<DashboardDto.SystemAlert> alerts = new ArrayList<>();
+
+        int pending = systemMetricsService.getPendingDatabaseConnections();
+        if (pending > 0) {
+            alerts.add(createSystemAlert("DATABASE_POOL_SATURATED",
+                    pending + " request(s) waiting for a database connection ("
+                            + systemMetricsService.getDatabaseConnections() + " in use)", "WARNING"));
+        }
+
+        double averageResponseMs = systemMetricsService.getAverageResponseTime();
+        if (averageResponseMs > slowResponseMs) {
+            alerts.add(createSystemAlert("SLOW_RESPONSES",
+                    String.format("Average response time is %.0f ms", averageResponseMs), "WARNING"));
+        }
+
+        return alerts;
+    }
+
+    private DashboardDto.SystemAlert createSystemAlert(String type, String message, String severity) {
+        DashboardDto.SystemAlert alert = new DashboardDto.SystemAlert();
+        alert.setType(type);
+        alert.setMessage(message);
+        alert.setSeverity(severity);
+        alert.setTimestamp(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return alert;
+    }
+}
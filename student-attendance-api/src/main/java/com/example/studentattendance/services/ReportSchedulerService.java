@@ -0,0 +1,355 @@
+package com.example.studentattendance.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import com.example.studentattendance.dto.ReportsDto;
+import com.example.studentattendance.models.ScheduledReport;
+import com.example.studentattendance.repositories.ScheduledReportRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Runs persisted report jobs on their cron schedule. Due jobs are picked up by a
+ * poller and handed to the bounded {@code reportExecutor}; identical requests
+ * (same type and parameters) that are already queued or running share one
+ * execution. Output is written as JSON under {@code app.reports.output-dir}.
+ */
+@Service
+public class ReportSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportSchedulerService.class);
+
+    public static final String ATTENDANCE_SUMMARY = "ATTENDANCE_SUMMARY";
+    public static final String DAILY_ATTENDANCE = "DAILY_ATTENDANCE";
+    public static final String STUDENT_PERFORMANCE = "STUDENT_PERFORMANCE";
+    public static final String CLASS_PERFORMANCE = "CLASS_PERFORMANCE";
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of(ATTENDANCE_SUMMARY, DAILY_ATTENDANCE,
+            STUDENT_PERFORMANCE, CLASS_PERFORMANCE);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final ConcurrentMap<String, InFlightReport> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ScheduledReportRepository scheduledReportRepository;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("reportExecutor")
+    private ThreadPoolTaskExecutor reportExecutor;
+
+    @Value("${app.reports.output-dir:reports}")
+    private String outputDir;
+
+    private Timer runTimer;
+    private Timer waitTimer;
+    private Counter coalescedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        runTimer = Timer.builder("reports.job.duration")
+                .description("Time spent generating a scheduled report")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        waitTimer = Timer.builder("reports.job.wait")
+                .description("Time a scheduled report waited in the executor queue")
+                .register(meterRegistry);
+        coalescedCounter = Counter.builder("reports.job.coalesced")
+                .description("Scheduled runs served by an identical in-flight report")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("reports.job.failed").register(meterRegistry);
+        Gauge.builder("reports.queue.depth", reportExecutor,
+                executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("reports.jobs.active", reportExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public ReportsDto.ScheduledReportResponse scheduleReport(ReportsDto.ScheduleReportRequest request) {
+        String reportType = request.getReportType().trim().toUpperCase();
+        if (!SUPPORTED_TYPES.contains(reportType)) {
+            throw new IllegalArgumentException("Unsupported report type: " + request.getReportType());
+        }
+        if (request.getSchedule() == null) {
+            throw new IllegalArgumentException("Schedule is required");
+        }
+        CronExpression cron = CronExpression.parse(request.getSchedule());
+
+        ScheduledReport job = new ScheduledReport();
+        job.setReportType(reportType);
+        job.setSchedule(request.getSchedule());
+        job.setEmail(request.getEmail());
+        job.setParametersJson(writeParameters(request.getParameters()));
+        job.setActive(true);
+        job.setStatus(ScheduledReport.JobStatus.SCHEDULED);
+        job.setNextRun(cron.next(LocalDateTime.now()));
+        job.setCreatedAt(LocalDateTime.now());
+
+        return convertToResponse(scheduledReportRepository.save(job));
+    }
+
+    public List<ReportsDto.ScheduledReportResponse> getScheduledReports() {
+        return scheduledReportRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    public void cancelScheduledReport(Long id) {
+        if (scheduledReportRepository.cancel(id) == 0) {
+            throw new IllegalArgumentException("Scheduled report not found: " + id);
+        }
+    }
+
+    // Claim every due job by advancing its next run, and hand the ones this instance won to the
+    // report executor. A job another instance claimed or cancelled since findDue is skipped.
+    @Scheduled(fixedDelayString = "${app.reports.poll-interval-ms:30000}")
+    public void dispatchDueReports() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ScheduledReport job : scheduledReportRepository.findDue(now)) {
+            LocalDateTime nextRun = CronExpression.parse(job.getSchedule()).next(now);
+            if (scheduledReportRepository.claimDue(job.getId(), job.getNextRun(), nextRun) == 1) {
+                dispatch(job.getId(), job.getReportType(), job.getParametersJson());
+            }
+        }
+    }
+
+    private void dispatch(Long jobId, String reportType, String parametersJson) {
+        String key = reportType + "|" + parametersJson;
+        long queuedAt = System.nanoTime();
+        boolean[] started = { false };
+
+        InFlightReport report;
+        try {
+            report = inFlight.computeIfAbsent(key, k -> {
+                started[0] = true;
+                CompletableFuture<Void> running = new CompletableFuture<>();
+                return new InFlightReport(running, CompletableFuture.supplyAsync(() -> {
+                    waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                    running.complete(null);
+                    return runTimer.record(() -> generate(reportType, parametersJson));
+                }, reportExecutor));
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Report executor saturated, job {} will run on its next trigger", jobId);
+            finishJob(jobId, ScheduledReport.JobStatus.SCHEDULED, null, "Report queue full");
+            return;
+        }
+
+        CompletableFuture<Path> future = report.result();
+        if (started[0]) {
+            future.whenComplete((path, error) -> inFlight.remove(key, report));
+        } else {
+            coalescedCounter.increment();
+            logger.info("Coalesced scheduled report {} with an identical in-flight report", jobId);
+        }
+
+        // Coalesced jobs follow the shared execution, so they flip to RUNNING with it
+        report.running().thenRun(() -> markRunning(jobId));
+        future.whenComplete((path, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                failedCounter.increment();
+                logger.error("Scheduled report {} failed", jobId, cause);
+                finishJob(jobId, ScheduledReport.JobStatus.FAILED, null, describe(cause));
+            } else {
+                finishJob(jobId, ScheduledReport.JobStatus.COMPLETED, path.toString(), null);
+            }
+        });
+    }
+
+    private void markRunning(Long jobId) {
+        try {
+            scheduledReportRepository.markRunning(jobId);
+        } catch (RuntimeException e) {
+            logger.warn("Could not mark scheduled report {} as running", jobId, e);
+        }
+    }
+
+    // Completion callbacks have no caller to report to, so a failed save is logged here
+    private void finishJob(Long jobId, ScheduledReport.JobStatus status, String outputPath, String error) {
+        try {
+            saveOutcome(jobId, status, outputPath, error);
+        } catch (OptimisticLockingFailureException e) {
+            // Cancelled or re-claimed while running; reload and apply on top of the newer state
+            try {
+                saveOutcome(jobId, status, outputPath, error);
+            } catch (RuntimeException retryError) {
+                logger.error("Could not record {} for scheduled report {}", status, jobId, retryError);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not record {} for scheduled report {}", status, jobId, e);
+            if (error != null) {
+                // Retry without the message so the job at least leaves QUEUED/RUNNING
+                try {
+                    saveOutcome(jobId, status, outputPath, null);
+                } catch (RuntimeException retryError) {
+                    logger.error("Could not record {} for scheduled report {}", status, jobId, retryError);
+                }
+            }
+        }
+    }
+
+    private void saveOutcome(Long jobId, ScheduledReport.JobStatus status, String outputPath, String error) {
+        scheduledReportRepository.findById(jobId).ifPresent(job -> {
+            if (job.getStatus() == ScheduledReport.JobStatus.CANCELLED) {
+                return;
+            }
+            job.setStatus(status);
+            if (status != ScheduledReport.JobStatus.SCHEDULED) {
+                job.setLastRun(LocalDateTime.now());
+            }
+            if (outputPath != null) {
+                job.setLastOutputPath(outputPath);
+            }
+            job.setLastError(error);
+            scheduledReportRepository.save(job);
+        });
+    }
+
+    private static String describe(Throwable error) {
+        String message = error.getMessage() != null
+                ? error.getClass().getSimpleName() + ": " + error.getMessage()
+                : error.getClass().getSimpleName();
+        return message.length() > ScheduledReport.MAX_ERROR_LENGTH
+                ? message.substring(0, ScheduledReport.MAX_ERROR_LENGTH)
+                : message;
+    }
+
+    private Path generate(String reportType, String parametersJson) {
+        Map<String, Object> params = readParameters(parametersJson);
+        int days = intParam(params, "days", 30);
+        Long classId = longParam(params, "classId");
+        Long studentId = longParam(params, "studentId");
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(days);
+
+        Object report = switch (reportType) {
+            case ATTENDANCE_SUMMARY -> attendanceService.generateAttendanceSummaryReport(startDate, endDate, classId,
+                    studentId);
+            case DAILY_ATTENDANCE -> attendanceService.generateDailyAttendanceReport(startDate, endDate, classId);
+            case STUDENT_PERFORMANCE -> attendanceService.generateStudentPerformanceReport(
+                    requireParam(studentId, "studentId"), startDate, endDate);
+            case CLASS_PERFORMANCE -> attendanceService.generateClassPerformanceReport(
+                    requireParam(classId, "classId"), startDate, endDate);
+            default -> throw new IllegalArgumentException("Unsupported report type: " + reportType);
+        };
+
+        try {
+            Path directory = Paths.get(outputDir);
+            Files.createDirectories(directory);
+            Path file = directory.resolve(reportType.toLowerCase() + "_" + LocalDateTime.now().format(FILE_TIMESTAMP)
+                    + "_" + Integer.toHexString(parametersJson.hashCode()) + ".json");
+            objectMapper.writeValue(file.toFile(), report);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String writeParameters(Map<String, Object> parameters) {
+        try {
+            // Sorted keys so identical parameter sets coalesce regardless of request ordering
+            return objectMapper.writeValueAsString(parameters != null
+                    ? new TreeMap<>(parameters)
+                    : Collections.emptyMap());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid report parameters", e);
+        }
+    }
+
+    private Map<String, Object> readParameters(String parametersJson) {
+        if (parametersJson == null || parametersJson.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return objectMapper.readValue(parametersJson, new TypeReference<Map<String, Object>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid report parameters", e);
+        }
+    }
+
+    private static int intParam(Map<String, Object> params, String name, int defaultValue) {
+        Object value = params.get(name);
+        return value != null ? Integer.parseInt(value.toString()) : defaultValue;
+    }
+
+    private static Long longParam(Map<String, Object> params, String name) {
+        Object value = params.get(name);
+        return value != null ? Long.valueOf(value.toString()) : null;
+    }
+
+    private static Long requireParam(Long value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing report parameter: " + name);
+        }
+        return value;
+    }
+
+    private ReportsDto.ScheduledReportResponse convertToResponse(ScheduledReport job) {
+        ReportsDto.ScheduledReportResponse response = new ReportsDto.ScheduledReportResponse();
+        response.setId(job.getId());
+        response.setReportType(job.getReportType());
+        response.setSchedule(job.getSchedule());
+        response.setEmail(job.getEmail());
+        response.setStatus(job.getStatus().name());
+        response.setNextRun(job.getNextRun());
+        response.setLastRun(job.getLastRun());
+        response.setOutputFile(job.getLastOutputPath());
+        response.setActive(job.isActive());
+        return response;
+    }
+
+    // One shared execution; running completes when it leaves the executor queue
+    private record InFlightReport(CompletableFuture<Void> running, CompletableFuture<Path> result) {
+    }
+}
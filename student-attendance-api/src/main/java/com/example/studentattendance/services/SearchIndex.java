@@ -0,0 +1,249 @@
+package com.example.studentattendance.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory token index over a few text fields per document id. Terms are kept in a
+ * sorted map for prefix lookups and in a trigram map for substring lookups, so a
+ * query touches only matching terms instead of every document (tokens of one or two
+ * characters, which have no trigram, scan the distinct terms). Every query token
+ * must match some term of a document; a match scores by kind (exact, prefix,
+ * substring) times the weight of the field it was found in, earlier fields weighing
+ * more. Reads share a lock and writes take it exclusively.
+ */
+public final class SearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int SUBSTRING = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (document id -> best field weight the term appears in)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final Map<Long, Set<String>> termsById = new HashMap<>();
+
+    // Index or re-index a document; fields are given in descending weight
+    public void put(long id, String... fields) {
+        Map<String, Integer> terms = analyze(fields);
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+            terms.forEach((term, weight) -> addTerm(id, term, weight));
+            termsById.put(id, new HashSet<>(terms.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replace the whole index, e.g. when rebuilding from the database
+    public void replaceAll(Map<Long, String[]> documents) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByTrigram.clear();
+            termsById.clear();
+            documents.forEach((id, fields) -> {
+                Map<String, Integer> terms = analyze(fields);
+                terms.forEach((term, weight) -> addTerm(id, term, weight));
+                termsById.put(id, new HashSet<>(terms.keySet()));
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the best-scoring documents, best first; ties go to the lower id. Pass
+    // Integer.MAX_VALUE for every match.
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Map<Long, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                Map<Long, Integer> tokenScores = score(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Keep only documents matching every token so far
+                    Map<Long, Integer> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : tokenScores.entrySet()) {
+                        Integer score = previous.get(entry.getKey());
+                        if (score != null) {
+                            scores.put(entry.getKey(), score + entry.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Bounded min-heap keeps the top results without sorting every match
+        PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(Math.min(limit, scores.size()) + 1,
+                (a, b) -> a.getValue().equals(b.getValue()) ? Long.compare(b.getKey(), a.getKey())
+                        : Integer.compare(a.getValue(), b.getValue()));
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        Long[] ids = new Long[top.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = top.poll().getKey();
+        }
+        return Arrays.asList(ids);
+    }
+
+    // Best score per document for one query token
+    private Map<Long, Integer> score(String token) {
+        Map<Long, Integer> scores = new HashMap<>();
+        // Exact and prefix matches are one contiguous range of the sorted terms
+        for (Map.Entry<String, Map<Long, Integer>> entry : postings
+                .subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            int kind = entry.getKey().equals(token) ? EXACT : PREFIX;
+            collect(entry.getValue(), kind, scores);
+        }
+        // Tokens shorter than a trigram have no candidates to narrow by, so they scan the distinct terms
+        Iterable<String> candidates = token.length() >= 3 ? substringCandidates(token) : postings.keySet();
+        for (String term : candidates) {
+            if (!term.startsWith(token) && term.contains(token)) {
+                collect(postings.get(term), SUBSTRING, scores);
+            }
+        }
+        return scores;
+    }
+
+    // Terms sharing every trigram of the token, starting from its rarest trigram
+    private Set<String> substringCandidates(String token) {
+        List<Set<String>> sets = new ArrayList<>();
+        for (String trigram : trigrams(token)) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms == null) {
+                return Set.of();
+            }
+            sets.add(terms);
+        }
+        sets.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        Set<String> candidates = new HashSet<>(sets.get(0));
+        for (int i = 1; i < sets.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(sets.get(i));
+        }
+        return candidates;
+    }
+
+    private static void collect(Map<Long, Integer> documents, int kind, Map<Long, Integer> scores) {
+        documents.forEach((id, weight) -> scores.merge(id, kind * weight, Math::max));
+    }
+
+    private void addTerm(long id, String term, int weight) {
+        Map<Long, Integer> documents = postings.get(term);
+        if (documents == null) {
+            documents = new HashMap<>();
+            postings.put(term, documents);
+            for (String trigram : trigrams(term)) {
+                termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+            }
+        }
+        documents.merge(id, weight, Math::max);
+    }
+
+    private void removeTerms(long id) {
+        Set<String> terms = termsById.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> documents = postings.get(term);
+            if (documents == null) {
+                continue;
+            }
+            documents.remove(id);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+                for (String trigram : trigrams(term)) {
+                    Set<String> trigramTerms = termsByTrigram.get(trigram);
+                    if (trigramTerms != null && trigramTerms.remove(term) && trigramTerms.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    // Terms of all fields with the weight of the heaviest field each appears in
+    private static Map<String, Integer> analyze(String[] fields) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            int weight = fields.length - i;
+            for (String term : tokenize(fields[i])) {
+                terms.merge(term, weight, Math::max);
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static Set<String> trigrams(String term) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            trigrams.add(term.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
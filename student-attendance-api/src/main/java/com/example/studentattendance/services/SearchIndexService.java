@@ -0,0 +1,108 @@
+package com.example.studentattendance.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.studentattendance.models.Class;
+import com.example.studentattendance.models.User;
+import com.example.studentattendance.repositories.ClassRepository;
+import com.example.studentattendance.repositories.UserRepository;
+
+/**
+ * Owns the in-memory {@link SearchIndex}es behind {@code /users/search} and
+ * {@code /classes/search}. Both are loaded from field projections once the
+ * application is ready (after the data initializer has run) and then kept current by
+ * {@link UserService} and {@link ClassService} writes. Users are indexed by username,
+ * first and last name; active classes by class name, subject and description.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private final SearchIndex userIndex = new SearchIndex();
+    private final SearchIndex classIndex = new SearchIndex();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassRepository classRepository;
+
+    @Value("${app.search.max-limit:100}")
+    private int maxLimit;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        userIndex.replaceAll(toDocuments(userRepository.findSearchFields()));
+        classIndex.replaceAll(toDocuments(classRepository.findActiveSearchFields()));
+        logger.info("Search index built with {} users and {} classes", userIndex.size(), classIndex.size());
+    }
+
+    public void indexUser(User user) {
+        if (user != null && user.getId() != null) {
+            userIndex.put(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName());
+        }
+    }
+
+    public void removeUser(Long id) {
+        if (id != null) {
+            userIndex.remove(id);
+        }
+    }
+
+    // Inactive classes are not searchable, so deactivating one drops it from the index
+    public void indexClass(Class classObj) {
+        if (classObj == null || classObj.getId() == null) {
+            return;
+        }
+        if (classObj.isActive()) {
+            classIndex.put(classObj.getId(), classObj.getClassName(), classObj.getSubject(),
+                    classObj.getDescription());
+        } else {
+            classIndex.remove(classObj.getId());
+        }
+    }
+
+    public void removeClass(Long id) {
+        if (id != null) {
+            classIndex.remove(id);
+        }
+    }
+
+    public List<Long> searchUserIds(String query, Integer limit) {
+        return userIndex.search(query, resolveLimit(limit));
+    }
+
+    public List<Long> searchClassIds(String query, Integer limit) {
+        return classIndex.search(query, resolveLimit(limit));
+    }
+
+    // Without a limit every match is returned, as the LIKE queries these endpoints replaced did
+    private int resolveLimit(Integer requested) {
+        if (requested == null) {
+            return Integer.MAX_VALUE;
+        }
+        if (requested < 1 || requested > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        return requested;
+    }
+
+    private static Map<Long, String[]> toDocuments(List<Object[]> rows) {
+        Map<Long, String[]> documents = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            documents.put((Long) row[0], new String[] { (String) row[1], (String) row[2], (String) row[3] });
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.studentattendance.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free event counter over a sliding time window, kept as a ring of fixed-width
+ * buckets. Each slot remembers which period it holds, so stale slots are ignored on
+ * read and reset by the first write of a new period. An increment racing that reset
+ * can be lost, which is acceptable for dashboard figures.
+ */
+public final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray periods;
+    private final LongSupplier clock;
+
+    public SlidingWindowCounter(Duration bucketWidth, int bucketCount) {
+        this(bucketWidth, bucketCount, System::currentTimeMillis);
+    }
+
+    SlidingWindowCounter(Duration bucketWidth, int bucketCount, LongSupplier clock) {
+        this.bucketMillis = bucketWidth.toMillis();
+        this.bucketCount = bucketCount;
+        this.counts = new AtomicLongArray(bucketCount);
+        this.periods = new AtomicLongArray(bucketCount);
+        this.clock = clock;
+        for (int i = 0; i < bucketCount; i++) {
+            periods.set(i, -1);
+        }
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long amount) {
+        long period = clock.getAsLong() / bucketMillis;
+        int slot = (int) (period % bucketCount);
+        long current = periods.get(slot);
+        if (current != period && periods.compareAndSet(slot, current, period)) {
+            counts.set(slot, 0);
+        }
+        counts.addAndGet(slot, amount);
+    }
+
+    // Total over the trailing window, capped at the ring's span
+    public long sum(Duration window) {
+        long now = clock.getAsLong() / bucketMillis;
+        int buckets = bucketsIn(window);
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            total += countAt(now - i);
+        }
+        return total;
+    }
+
+    // Trailing window split into equal slices, oldest first
+    public List<Integer> series(Duration window, int slices) {
+        long now = clock.getAsLong() / bucketMillis;
+        int buckets = bucketsIn(window);
+        int perSlice = Math.max(1, buckets / slices);
+        long oldest = now - (long) perSlice * slices + 1;
+
+        List<Integer> series = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            long total = 0;
+            long first = oldest + (long) slice * perSlice;
+            for (int i = 0; i < perSlice; i++) {
+                total += countAt(first + i);
+            }
+            series.add((int) Math.min(total, Integer.MAX_VALUE));
+        }
+        return series;
+    }
+
+    private long countAt(long period) {
+        if (period < 0) {
+            return 0;
+        }
+        int slot = (int) (period % bucketCount);
+        return periods.get(slot) == period ? counts.get(slot) : 0;
+    }
+
+    private int bucketsIn(Duration window) {
+        long buckets = (window.toMillis() + bucketMillis - 1) / bucketMillis;
+        return (int) Math.max(1, Math.min(buckets, bucketCount));
+    }
+}
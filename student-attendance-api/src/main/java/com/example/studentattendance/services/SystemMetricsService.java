@@ -0,0 +1,105 @@
+package com.example.studentattendance.services;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Live figures for the health report and admin dashboard, read from Micrometer meters
+ * (request timings, Hikari pool gauges) and from sliding-window counters of attendance
+ * marks and logins kept for the last 24 hours.
+ */
+@Service
+public class SystemMetricsService {
+
+    private static final Duration BUCKET_WIDTH = Duration.ofMinutes(1);
+    private static final int BUCKET_COUNT = 24 * 60;
+    private static final int SERIES_SLICES = 12;
+
+    private final SlidingWindowCounter attendanceMarks = new SlidingWindowCounter(BUCKET_WIDTH, BUCKET_COUNT);
+    private final SlidingWindowCounter logins = new SlidingWindowCounter(BUCKET_WIDTH, BUCKET_COUNT);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter attendanceMarksCounter;
+    private Counter loginsCounter;
+
+    @PostConstruct
+    void registerMeters() {
+        attendanceMarksCounter = Counter.builder("attendance.marks")
+                .description("Attendance rows created or updated")
+                .register(meterRegistry);
+        loginsCounter = Counter.builder("auth.logins")
+                .description("Successful logins")
+                .register(meterRegistry);
+        Gauge.builder("attendance.marks.last_hour", attendanceMarks, c -> c.sum(Duration.ofHours(1)))
+                .register(meterRegistry);
+        Gauge.builder("auth.logins.last_hour", logins, c -> c.sum(Duration.ofHours(1)))
+                .register(meterRegistry);
+    }
+
+    public void recordAttendanceMarks(int count) {
+        if (count > 0) {
+            attendanceMarks.add(count);
+            attendanceMarksCounter.increment(count);
+        }
+    }
+
+    public void recordLogin() {
+        logins.increment();
+        loginsCounter.increment();
+    }
+
+    // Mean latency in milliseconds across all HTTP endpoints since startup
+    public double getAverageResponseTime() {
+        double totalMillis = 0;
+        long count = 0;
+        for (Timer timer : meterRegistry.find("http.server.requests").timers()) {
+            totalMillis += timer.totalTime(TimeUnit.MILLISECONDS);
+            count += timer.count();
+        }
+        return count > 0 ? totalMillis / count : 0;
+    }
+
+    // JVM uptime in milliseconds
+    public long getSystemUptime() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    // Connections currently checked out of the Hikari pool; idle and pending are exported by Boot as hikaricp.connections.*
+    public int getDatabaseConnections() {
+        return (int) sumGauges("hikaricp.connections.active");
+    }
+
+    // Requests currently waiting for a connection from the Hikari pool
+    public int getPendingDatabaseConnections() {
+        return (int) sumGauges("hikaricp.connections.pending");
+    }
+
+    // Attendance marks over the last N hours, in equal slices, oldest first
+    public List<Integer> getRecentAttendanceMarks(int hours) {
+        return attendanceMarks.series(Duration.ofHours(hours), SERIES_SLICES);
+    }
+
+    // Logins over the last N hours, in equal slices, oldest first
+    public List<Integer> getRecentLogins(int hours) {
+        return logins.series(Duration.ofHours(hours), SERIES_SLICES);
+    }
+
+    private double sumGauges(String name) {
+        return meterRegistry.find(name).gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+}
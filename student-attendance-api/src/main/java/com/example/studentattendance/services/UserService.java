@@ -1,26 +1,39 @@
 package com.example.studentattendance.services;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Arrays;
-import java.util.Arrays;
-import java.util.Collections;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.example.studentattendance.config.CacheConfig;
+import com.example.studentattendance.config.PaginationProperties;
 import com.example.studentattendance.dto.AuthDto;
 import com.example.studentattendance.models.User;
 import com.example.studentattendance.repositories.UserRepository;
+import com.example.studentattendance.security.AuthenticatedUser;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -28,6 +41,15 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Value("${jwt.expiration:86400000}")
+    private long accessTokenLifetimeMs;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = findByUsername(username);
@@ -35,10 +57,28 @@ public class UserService implements UserDetailsService {
             throw new UsernameNotFoundException("User not found with username: " + username);
         }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+        return AuthenticatedUser.from(user);
+    }
+
+    // Called by the authentication provider after a successful login whose hash uses another BCrypt strength
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#user.username")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User stored = findByUsername(user.getUsername());
+        if (stored == null) {
+            return user;
+        }
+        stored.setPassword(newPassword);
+        stored.setUpdatedAt(LocalDateTime.now());
+        userRepository.save(stored);
+        return AuthenticatedUser.from(stored);
+    }
+
+    // Principal for JWT-authenticated requests; cached so the filter skips the user lookup
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS, key = "#username", unless = "#result == null")
+    public AuthenticatedUser loadAuthenticatedUser(String username) {
+        User user = findByUsername(username);
+        return user != null ? AuthenticatedUser.from(user).withoutPassword() : null;
     }
 
     public User findByUsername(String username) {
@@ -53,10 +93,22 @@ public class UserService implements UserDetailsService {
         return userRepository.findById(id).orElse(null);
     }
 
+    public List<User> findAllByIds(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
+    // Keyset page of users ordered by id; the cursor is the last id of the previous page
+    public KeysetPage<User> findPage(String cursor, Integer limit) {
+        Long afterId = KeysetPage.decodeIdCursor(cursor);
+        int pageSize = paginationProperties.resolveLimit(limit);
+        List<User> fetched = userRepository.findPageAfter(afterId, PageRequest.of(0, pageSize + 1));
+        return KeysetPage.of(fetched, pageSize, user -> KeysetPage.encodeCursor(user.getId()));
+    }
+
     public List<User> findByRole(User.UserRole role) {
         return userRepository.findByRole(role);
     }
@@ -69,6 +121,7 @@ public class UserService implements UserDetailsService {
         return userRepository.existsByEmail(email);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USER_COUNTS, allEntries = true)
     public User createUser(AuthDto.RegisterRequest request) {
         User user = new User();
         user.setUsername(request.getUsername());
@@ -92,12 +145,20 @@ public class UserService implements UserDetailsService {
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        searchIndexService.indexUser(saved);
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USER_COUNTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, allEntries = true)
+    })
     public User updateUser(User user) {
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        searchIndexService.indexUser(saved);
+        return saved;
     }
 
     public void updateLastLogin(Long userId) {
@@ -108,10 +169,16 @@ public class UserService implements UserDetailsService {
         }
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USER_COUNTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, allEntries = true)
+    })
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        searchIndexService.removeUser(id);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, allEntries = true)
     public boolean changePassword(Long userId, String currentPassword, String newPassword) {
         User user = findById(userId);
         if (user != null && passwordEncoder.matches(currentPassword, user.getPassword())) {
@@ -123,6 +190,10 @@ public class UserService implements UserDetailsService {
         return false;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USER_COUNTS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, allEntries = true)
+    })
     public User save(User user) {
         if (user.getCreatedAt() == null) {
             user.setCreatedAt(LocalDateTime.now());
@@ -134,28 +205,64 @@ public class UserService implements UserDetailsService {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        searchIndexService.indexUser(saved);
+        return saved;
     }
 
+    @Cacheable(cacheNames = CacheConfig.USER_COUNTS, key = "'all'")
     public long countAll() {
         return userRepository.count();
     }
 
+    @Cacheable(cacheNames = CacheConfig.USER_COUNTS, key = "'active'")
     public long countActiveUsers() {
         return userRepository.countActiveUsers();
     }
 
+    @Cacheable(cacheNames = CacheConfig.USER_COUNTS, key = "'role:' + #role")
     public long countByRole(User.UserRole role) {
         return userRepository.countByRole(role);
     }
 
-    public List<Integer> getRecentLogins(int hours) {
-        // Implementation would get recent login counts
-        // For now, return mock data
-        return Arrays.asList(5, 8, 12, 6, 10); // Mock data
+    // Tokens are stateless, so users who logged in within one access-token lifetime approximate open sessions
+    public int getActiveSessionsCount() {
+        LocalDateTime since = LocalDateTime.now().minus(accessTokenLifetimeMs, ChronoUnit.MILLIS);
+        return (int) userRepository.countActiveUsersLoggedInSince(since);
+    }
+
+    // Day labels for the last N days including today, oldest first
+    public List<String> getUserActivityLabels(int days) {
+        LocalDate today = LocalDate.now();
+        List<String> labels = new ArrayList<>();
+        for (LocalDate date = today.minusDays(days - 1); !date.isAfter(today); date = date.plusDays(1)) {
+            labels.add(date.format(DateTimeFormatter.ofPattern("MMM d")));
+        }
+        return labels;
+    }
+
+    // Users whose last login falls on each of the last N days, oldest first
+    public List<Integer> getUserActivityData(int days) {
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = today.minusDays(days - 1);
+        Map<LocalDate, Long> loginsByDate = userRepository.findLastLoginsSince(startDate.atStartOfDay()).stream()
+                .collect(Collectors.groupingBy(LocalDateTime::toLocalDate, Collectors.counting()));
+
+        List<Integer> data = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(today); date = date.plusDays(1)) {
+            data.add(loginsByDate.getOrDefault(date, 0L).intValue());
+        }
+        return data;
     }
 
-    public List<User> searchUsers(String query) {
-        return userRepository.searchUsers(query);
+    // Ranked matches from the in-memory search index, best first
+    public List<User> searchUsers(String query, Integer limit) {
+        List<Long> ids = searchIndexService.searchUserIds(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> byId = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 }
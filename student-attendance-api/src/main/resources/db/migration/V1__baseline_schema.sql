@@ -0,0 +1,70 @@
+-- Schema as it existed before versioned migrations. Existing databases are baselined at
+-- this version (spring.flyway.baseline-on-migrate), so this script only runs on an empty schema.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    phone_number VARCHAR(255),
+    student_id VARCHAR(255),
+    department VARCHAR(255),
+    role ENUM('STUDENT', 'TEACHER', 'ADMIN') NOT NULL,
+    profile_image VARCHAR(255),
+    is_active BIT(1),
+    last_login DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE classes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    class_name VARCHAR(255) NOT NULL,
+    subject VARCHAR(255),
+    teacher_id BIGINT NOT NULL,
+    schedule VARCHAR(255),
+    room VARCHAR(255),
+    max_students INT,
+    description VARCHAR(255),
+    semester VARCHAR(255),
+    academic_year VARCHAR(255),
+    is_active BIT(1),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_classes_teacher FOREIGN KEY (teacher_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE class_enrollments (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    class_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    status ENUM('ENROLLED', 'DROPPED', 'SUSPENDED', 'GRADUATED') NOT NULL,
+    enrollment_date DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_class_enrollments_class FOREIGN KEY (class_id) REFERENCES classes (id),
+    CONSTRAINT fk_class_enrollments_student FOREIGN KEY (student_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE attendance (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    class_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    status ENUM('PRESENT', 'ABSENT', 'LATE', 'EXCUSED', 'HALF_DAY') NOT NULL,
+    time_in TIME,
+    time_out TIME,
+    marked_by VARCHAR(255),
+    notes VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_attendance_class FOREIGN KEY (class_id) REFERENCES classes (id),
+    CONSTRAINT fk_attendance_student FOREIGN KEY (student_id) REFERENCES users (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,13 @@
+-- Attendance ids move from AUTO_INCREMENT to a table generator (allocationSize = 50) so
+-- inserts can be JDBC-batched. Hibernate's pooled optimizer hands out (next_val - 49 .. next_val)
+-- from a stored value, so seeding max(id) + 50 makes the first block start right after the
+-- highest existing id.
+
+CREATE TABLE id_generator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'attendance', COALESCE(MAX(id), 0) + 50 FROM attendance;
@@ -0,0 +1,14 @@
+-- Pre-aggregated counts per (date, class, status), backfilled from the attendance table
+
+CREATE TABLE attendance_daily_rollup (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    date DATE NOT NULL,
+    class_id BIGINT NOT NULL,
+    status ENUM('PRESENT', 'ABSENT', 'LATE', 'EXCUSED', 'HALF_DAY') NOT NULL,
+    record_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_rollup_date_class_status UNIQUE (date, class_id, status)
+) ENGINE = InnoDB;
+
+INSERT INTO attendance_daily_rollup (date, class_id, status, record_count)
+SELECT date, class_id, status, COUNT(*) FROM attendance GROUP BY date, class_id, status;
@@ -0,0 +1,13 @@
+-- Range-query indexes and one record per (student, class, date). The unique key fails if
+-- duplicate marks already exist; resolve them before migrating:
+--   SELECT student_id, class_id, date, COUNT(*) FROM attendance
+--   GROUP BY student_id, class_id, date HAVING COUNT(*) > 1;
+
+ALTER TABLE attendance
+    ADD CONSTRAINT uk_attendance_student_class_date UNIQUE (student_id, class_id, date),
+    ADD INDEX idx_attendance_class_date (class_id, date),
+    ADD INDEX idx_attendance_student_date (student_id, date),
+    ADD INDEX idx_attendance_date_status (date, status),
+    ADD INDEX idx_attendance_updated_at (updated_at);
+
+CREATE INDEX idx_classes_teacher ON classes (teacher_id);
@@ -0,0 +1,19 @@
+-- Persisted scheduled report jobs
+
+CREATE TABLE scheduled_reports (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    report_type VARCHAR(255) NOT NULL,
+    schedule VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    parameters_json LONGTEXT,
+    status ENUM('SCHEDULED', 'QUEUED', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED') NOT NULL,
+    is_active BIT(1),
+    next_run DATETIME(6),
+    last_run DATETIME(6),
+    last_output_path VARCHAR(255),
+    last_error VARCHAR(1000),
+    created_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    INDEX idx_scheduled_reports_due (is_active, next_run)
+) ENGINE = InnoDB;
@@ -0,0 +1,7 @@
+-- Single-row heartbeat written on the primary; its age on the replica is the replication lag
+
+CREATE TABLE replica_heartbeat (
+    id BIGINT NOT NULL,
+    beat_at_ms BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
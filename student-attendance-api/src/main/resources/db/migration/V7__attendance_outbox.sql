@@ -0,0 +1,23 @@
+-- Transactional outbox of attendance changes with a per-class sequence
+
+CREATE TABLE attendance_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    class_id BIGINT NOT NULL,
+    seq_no BIGINT NOT NULL,
+    event_type ENUM('UPSERTED', 'DELETED') NOT NULL,
+    attendance_id BIGINT,
+    student_id BIGINT,
+    date DATE NOT NULL,
+    status ENUM('PRESENT', 'ABSENT', 'LATE', 'EXCUSED', 'HALF_DAY'),
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_outbox_class_sequence UNIQUE (class_id, seq_no),
+    INDEX idx_outbox_unpublished (published_at, id)
+) ENGINE = InnoDB;
+
+CREATE TABLE attendance_outbox_sequence (
+    class_id BIGINT NOT NULL,
+    next_value BIGINT NOT NULL,
+    PRIMARY KEY (class_id)
+) ENGINE = InnoDB;
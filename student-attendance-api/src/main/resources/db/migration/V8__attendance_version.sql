@@ -0,0 +1,3 @@
+-- Optimistic-lock version for attendance rows
+
+ALTER TABLE attendance ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
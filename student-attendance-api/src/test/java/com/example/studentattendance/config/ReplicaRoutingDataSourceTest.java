@@ -0,0 +1,97 @@
+package com.example.studentattendance.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Two local H2 databases stand in for primary and replica. Each holds a one-row table
+ * naming itself, so every routed read shows which pool served it.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final long DEFAULT_MAX_LAG_MS = 5_000;
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        Routing routing = routing(ReplicaLagMonitor.CHECK_NONE);
+
+        assertEquals("replica", routing.read(true));
+        assertEquals("primary", routing.read(false));
+        assertEquals("primary", routing.jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void replicaWithoutHeartbeatIsNotUsed() {
+        Routing routing = routing(ReplicaLagMonitor.CHECK_HEARTBEAT);
+        routing.monitor.beat();
+
+        // The beat reached the primary but was never replicated
+        assertEquals("primary", routing.read(true));
+    }
+
+    @Test
+    void replicaIsUsedWhileLagIsWithinTolerance() {
+        Routing routing = routing(ReplicaLagMonitor.CHECK_HEARTBEAT);
+        replicateHeartbeat(System.currentTimeMillis());
+        routing.monitor.beat();
+
+        assertEquals("replica", routing.read(true));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryUnlessMethodToleratesLag() {
+        Routing routing = routing(ReplicaLagMonitor.CHECK_HEARTBEAT);
+        replicateHeartbeat(System.currentTimeMillis() - 2 * DEFAULT_MAX_LAG_MS);
+        routing.monitor.beat();
+
+        assertEquals("primary", routing.read(true));
+        assertEquals("replica", ReplicaRoutingDataSource.callWithMaxLag(ReplicaLagTolerance.REPORTS_MS,
+                () -> routing.read(true)));
+        assertEquals("primary", ReplicaRoutingDataSource.callWithMaxLag(0L, () -> routing.read(true)));
+        // The override is scoped to the call
+        assertEquals("primary", routing.read(true));
+    }
+
+    private Routing routing(String lagCheck) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, lagCheck, new SimpleMeterRegistry());
+        DataSource dataSource = new ReadReplicaConfig().dataSource(primary, replica, monitor, DEFAULT_MAX_LAG_MS);
+        return new Routing(monitor, new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+    }
+
+    private void replicateHeartbeat(long beatAtMs) {
+        new JdbcTemplate(replica).update("INSERT INTO replica_heartbeat (id, beat_at_ms) VALUES (1, ?)", beatAtMs);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        jdbc.execute("CREATE TABLE replica_heartbeat (id BIGINT PRIMARY KEY, beat_at_ms BIGINT NOT NULL)");
+        return dataSource;
+    }
+
+    private record Routing(ReplicaLagMonitor monitor, JdbcTemplate jdbc, DataSourceTransactionManager transactions) {
+
+        String read(boolean readOnly) {
+            TransactionTemplate transaction = new TransactionTemplate(transactions);
+            transaction.setReadOnly(readOnly);
+            return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.studentattendance.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * With {@code spring.threads.virtual.enabled}, a virtual thread that blocks (JDBC, HTTP, locks)
+ * inside a {@code synchronized} block or method pins its carrier thread on Java 21. Fails when
+ * application code uses {@code synchronized}; use a {@link java.util.concurrent.locks.Lock} or a
+ * concurrent collection instead.
+ */
+class VirtualThreadPinningTest {
+
+    private static final Path MAIN_SOURCES = Paths.get("src", "main", "java");
+
+    // Comments, then string and char literals, so the keyword is only matched in code
+    private static final Pattern COMMENTS_AND_LITERALS = Pattern.compile(
+            "//[^\\n]*|/\\*.*?\\*/|\"(?:\\\\.|[^\"\\\\])*\"|'(?:\\\\.|[^'\\\\])*'", Pattern.DOTALL);
+    private static final Pattern SYNCHRONIZED = Pattern.compile("\\bsynchronized\\b");
+
+    @Test
+    void mainSourcesDoNotUseSynchronized() throws IOException {
+        assertTrue(Files.isDirectory(MAIN_SOURCES), "Run from the module directory");
+        List<String> offenders = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(MAIN_SOURCES)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".java")).toList()) {
+                String code = strip(Files.readString(file));
+                Matcher matcher = SYNCHRONIZED.matcher(code);
+                while (matcher.find()) {
+                    offenders.add(MAIN_SOURCES.relativize(file) + ":" + lineOf(code, matcher.start()));
+                }
+            }
+        }
+        assertTrue(offenders.isEmpty(), "synchronized pins virtual threads, found at " + offenders);
+    }
+
+    // Blank out comments and literals but keep their newlines so line numbers still match
+    private static String strip(String source) {
+        Matcher matcher = COMMENTS_AND_LITERALS.matcher(source);
+        StringBuilder stripped = new StringBuilder(source.length());
+        while (matcher.find()) {
+            matcher.appendReplacement(stripped, Matcher.quoteReplacement(matcher.group().replaceAll("[^\\n]", " ")));
+        }
+        matcher.appendTail(stripped);
+        return stripped.toString();
+    }
+
+    private static int lineOf(String code, int offset) {
+        int line = 1;
+        for (int i = 0; i < offset; i++) {
+            if (code.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+}
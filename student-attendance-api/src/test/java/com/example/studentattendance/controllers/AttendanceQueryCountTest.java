@@ -0,0 +1,173 @@
+package com.example.studentattendance.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.studentattendance.services.AttendanceService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Uses Hibernate statistics to check that the attendance list endpoints issue the same
+ * number of statements for a class of 3 students as for a class of 30, i.e. that response
+ * mapping never lazy-loads students or classes row by row.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        // Keep background jobs from running statements while the counters are read
+        "app.outbox.relay-interval-ms=3600000",
+        "app.reports.poll-interval-ms=3600000",
+        "app.realtime.coalesce-ms=3600000",
+        "app.realtime.heartbeat-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(roles = "ADMIN")
+class AttendanceQueryCountTest {
+
+    private static final long SMALL_CLASS = 9001L;
+    private static final long LARGE_CLASS = 9002L;
+    private static final long FIRST_STUDENT = 9100L;
+    private static final int DAYS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDate start = LocalDate.now().minusDays(DAYS);
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, first_name, last_name, role, "
+                + "is_active, created_at) VALUES (9000, 'qc_teacher', 'qc_teacher@school.com', 'x', 'John', 'Smith', "
+                + "'TEACHER', TRUE, ?)", now);
+        List<Object[]> students = new ArrayList<>();
+        for (int s = 0; s < 30; s++) {
+            students.add(new Object[] { FIRST_STUDENT + s, "qc_student" + s, "qc_student" + s + "@school.com",
+                    "No. " + s, now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, first_name, last_name, role, "
+                + "is_active, created_at) VALUES (?, ?, ?, 'x', 'Student', ?, 'STUDENT', TRUE, ?)", students);
+        jdbcTemplate.update("INSERT INTO classes (id, class_name, subject, teacher_id, schedule, is_active, created_at) "
+                + "VALUES (?, 'Small', 'Math', 9000, 'Mon', TRUE, ?), (?, 'Large', 'Math', 9000, 'Tue', TRUE, ?)",
+                SMALL_CLASS, now, LARGE_CLASS, now);
+
+        List<Object[]> rows = new ArrayList<>();
+        long id = 900_000L;
+        for (int d = 0; d < DAYS; d++) {
+            for (int s = 0; s < 3; s++) {
+                rows.add(new Object[] { id++, SMALL_CLASS, FIRST_STUDENT + s, Date.valueOf(start.plusDays(d)), now, now });
+            }
+            for (int s = 0; s < 30; s++) {
+                rows.add(new Object[] { id++, LARGE_CLASS, FIRST_STUDENT + s, Date.valueOf(start.plusDays(d)), now, now });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (id, class_id, student_id, date, status, time_in, marked_by, "
+                + "created_at, updated_at, version) VALUES (?, ?, ?, ?, 'PRESENT', '08:00:00', 'qc_teacher', ?, ?, 0)",
+                rows);
+    }
+
+    @Test
+    void classDayListUsesFixedStatementCount() throws Exception {
+        assertFixedCount(
+                get("/attendance/class/{classId}/date/{date}", SMALL_CLASS, start),
+                get("/attendance/class/{classId}/date/{date}", LARGE_CLASS, start));
+    }
+
+    @Test
+    void classRangeListUsesFixedStatementCount() throws Exception {
+        assertFixedCount(
+                get("/attendance/class/{classId}/range", SMALL_CLASS)
+                        .param("startDate", start.toString()).param("endDate", start.plusDays(DAYS).toString()),
+                get("/attendance/class/{classId}/range", LARGE_CLASS)
+                        .param("startDate", start.toString()).param("endDate", start.plusDays(DAYS).toString()));
+    }
+
+    @Test
+    void studentRangeListUsesFixedStatementCount() throws Exception {
+        // Same student, one day versus the whole range across both classes
+        assertFixedCount(
+                get("/attendance/student/{studentId}/range", FIRST_STUDENT)
+                        .param("startDate", start.toString()).param("endDate", start.toString()),
+                get("/attendance/student/{studentId}/range", FIRST_STUDENT)
+                        .param("startDate", start.toString()).param("endDate", start.plusDays(DAYS).toString()));
+    }
+
+    @Test
+    void recentActivityUsesFixedStatementCount() {
+        assertEquals(count(() -> attendanceService.getRecentAttendanceActivities(3)),
+                count(() -> attendanceService.getRecentAttendanceActivities(60)));
+        assertEquals(1, count(() -> attendanceService.getRecentAttendanceActivities(60)));
+    }
+
+    @Test
+    void studentHistoryUsesFixedStatementCount() {
+        assertEquals(count(() -> attendanceService.getStudentAttendanceHistory(FIRST_STUDENT, 2)),
+                count(() -> attendanceService.getStudentAttendanceHistory(FIRST_STUDENT, 10)));
+        assertEquals(1, count(() -> attendanceService.getStudentAttendanceHistory(FIRST_STUDENT, 10)));
+    }
+
+    private void assertFixedCount(RequestBuilder small, RequestBuilder large) throws Exception {
+        long smallCount = count(() -> perform(small));
+        long largeCount = count(() -> perform(large));
+        assertEquals(smallCount, largeCount, "statement count depends on the number of rows");
+        assertEquals(1, largeCount, "expected a single select with students and classes fetched");
+    }
+
+    private void perform(RequestBuilder request) {
+        try {
+            mockMvc.perform(request).andExpect(status().isOk());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Statements prepared by the action, starting from an empty persistence context
+    private long count(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        assertEquals(0, statistics.getEntityFetchCount(), "lazy entity loads: " + statistics.getEntityFetchCount());
+        assertEquals(0, statistics.getCollectionFetchCount(),
+                "lazy collection loads: " + statistics.getCollectionFetchCount());
+        return statistics.getPrepareStatementCount();
+    }
+}
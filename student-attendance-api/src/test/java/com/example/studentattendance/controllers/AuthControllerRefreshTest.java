@@ -0,0 +1,104 @@
+package com.example.studentattendance.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.studentattendance.dto.AuthDto;
+import com.example.studentattendance.models.User;
+import com.example.studentattendance.security.AuthenticatedUser;
+import com.example.studentattendance.security.JwtUtil;
+import com.example.studentattendance.services.UserService;
+
+class AuthControllerRefreshTest {
+
+    private JwtUtil jwtUtil;
+    private UserService userService;
+    private AuthController controller;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-that-is-long-enough-for-hs256");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", 600_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        userService = mock(UserService.class);
+        controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(controller, "userService", userService);
+    }
+
+    @Test
+    void refreshIssuesTokensForCurrentPrincipal() {
+        User user = user(1L, "hash-1", User.UserRole.TEACHER, true);
+        String refreshToken = jwtUtil.generateRefreshToken(AuthenticatedUser.from(user));
+        when(userService.loadAuthenticatedUser("teacher")).thenReturn(AuthenticatedUser.from(user).withoutPassword());
+        when(userService.findByUsername("teacher")).thenReturn(user);
+
+        ResponseEntity<AuthDto.AuthResponse> response = controller.refreshToken("Bearer " + refreshToken);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody().getAccessToken());
+        assertNotNull(jwtUtil.parseToken(response.getBody().getRefreshToken()));
+    }
+
+    @Test
+    void refreshRejectsTokenIssuedBeforePasswordChange() {
+        String refreshToken = jwtUtil.generateRefreshToken(
+                AuthenticatedUser.from(user(1L, "hash-1", User.UserRole.TEACHER, true)));
+        when(userService.loadAuthenticatedUser("teacher"))
+                .thenReturn(AuthenticatedUser.from(user(1L, "hash-2", User.UserRole.TEACHER, true)).withoutPassword());
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.refreshToken("Bearer " + refreshToken).getStatusCode());
+    }
+
+    @Test
+    void refreshRejectsTokenIssuedForOldRole() {
+        String refreshToken = jwtUtil.generateRefreshToken(
+                AuthenticatedUser.from(user(1L, "hash-1", User.UserRole.ADMIN, true)));
+        when(userService.loadAuthenticatedUser("teacher"))
+                .thenReturn(AuthenticatedUser.from(user(1L, "hash-1", User.UserRole.TEACHER, true)).withoutPassword());
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.refreshToken("Bearer " + refreshToken).getStatusCode());
+    }
+
+    @Test
+    void refreshRejectsTokenIssuedForRecreatedAccount() {
+        String refreshToken = jwtUtil.generateRefreshToken(
+                AuthenticatedUser.from(user(1L, "hash-1", User.UserRole.TEACHER, true)));
+        when(userService.loadAuthenticatedUser("teacher"))
+                .thenReturn(AuthenticatedUser.from(user(2L, "hash-1", User.UserRole.TEACHER, true)).withoutPassword());
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.refreshToken("Bearer " + refreshToken).getStatusCode());
+    }
+
+    @Test
+    void refreshRejectsDisabledAccount() {
+        User user = user(1L, "hash-1", User.UserRole.TEACHER, false);
+        String refreshToken = jwtUtil.generateRefreshToken(AuthenticatedUser.from(user));
+        when(userService.loadAuthenticatedUser("teacher")).thenReturn(AuthenticatedUser.from(user).withoutPassword());
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.refreshToken("Bearer " + refreshToken).getStatusCode());
+    }
+
+    @Test
+    void refreshRejectsInvalidToken() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.refreshToken("Bearer not-a-jwt").getStatusCode());
+    }
+
+    private static User user(Long id, String passwordHash, User.UserRole role, boolean active) {
+        User user = new User("teacher", "teacher@school.com", passwordHash, "John", "Smith", role);
+        user.setId(id);
+        user.setActive(active);
+        return user;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.studentattendance.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.studentattendance.models.Attendance;
+
+/**
+ * Runs EXPLAIN on H2 for the SQL Hibernate generates for each hot AttendanceRepository
+ * query and fails when the attendance table is no longer read through one of its
+ * declared indexes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.studentattendance.repositories.CapturingStatementInspector")
+class AttendanceRepositoryIndexTest {
+
+    private static final int CLASSES = 4;
+    private static final int STUDENTS = 25;
+    private static final int DAYS = 20;
+
+    // The attendance table and the index (or tableScan) H2 reads it through
+    private static final Pattern ATTENDANCE_ACCESS = Pattern.compile(
+            "PUBLIC\"?\\.\"?ATTENDANCE\"?\\s+\"?\\w+\"?\\s*/\\*\\s*PUBLIC\\.\"?(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate start = LocalDate.now().minusDays(DAYS);
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, is_active, created_at) "
+                + "VALUES (1, 'teacher', 'teacher@school.com', 'x', 'TEACHER', TRUE, ?)", Timestamp.valueOf(now));
+        List<Object[]> students = new ArrayList<>();
+        for (int s = 0; s < STUDENTS; s++) {
+            students.add(new Object[] { 100L + s, "student" + s, "student" + s + "@school.com",
+                    Timestamp.valueOf(now) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, role, is_active, created_at) "
+                + "VALUES (?, ?, ?, 'x', 'STUDENT', TRUE, ?)", students);
+        for (long c = 1; c <= CLASSES; c++) {
+            jdbcTemplate.update("INSERT INTO classes (id, class_name, subject, teacher_id, schedule, is_active, "
+                    + "created_at) VALUES (?, ?, 'Math', 1, 'Mon', TRUE, ?)", c, "Class " + c, Timestamp.valueOf(now));
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        long id = 1;
+        for (long c = 1; c <= CLASSES; c++) {
+            for (int s = 0; s < STUDENTS; s++) {
+                for (int d = 0; d < DAYS; d++) {
+                    Timestamp stamp = Timestamp.valueOf(now.minusMinutes(d));
+                    rows.add(new Object[] { id++, c, 100L + s, Date.valueOf(start.plusDays(d)),
+                            d % 5 == 0 ? "ABSENT" : "PRESENT", stamp, stamp });
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (id, class_id, student_id, date, status, created_at, "
+                + "updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", rows);
+        CapturingStatementInspector.drain();
+    }
+
+    @Test
+    void lookupByStudentClassAndDateUsesIndex() {
+        attendanceRepository.findByStudentIdAndClassIdAndDate(100L, 1L, start);
+        assertUsesAttendanceIndex("findByStudentIdAndClassIdAndDate");
+    }
+
+    @Test
+    void classDayQueriesUseIndex() {
+        attendanceRepository.findByClassIdAndDate(1L, start);
+        assertUsesAttendanceIndex("findByClassIdAndDate");
+
+        attendanceRepository.findByClassIdAndDateAndStudentIdIn(1L, start, List.of(100L, 101L, 102L));
+        assertUsesAttendanceIndex("findByClassIdAndDateAndStudentIdIn");
+    }
+
+    @Test
+    void rangeQueriesUseIndex() {
+        LocalDate end = start.plusDays(7);
+        attendanceRepository.findByStudentIdAndDateBetween(100L, start, end);
+        assertUsesAttendanceIndex("findByStudentIdAndDateBetween");
+
+        attendanceRepository.findByClassIdAndDateBetween(1L, start, end);
+        assertUsesAttendanceIndex("findByClassIdAndDateBetween");
+
+        attendanceRepository.findPageByStudentAndDateRange(100L, start, end, null, null, PageRequest.of(0, 50));
+        assertUsesAttendanceIndex("findPageByStudentAndDateRange");
+
+        attendanceRepository.findPageByClassAndDateRange(1L, start, end, null, null, PageRequest.of(0, 50));
+        assertUsesAttendanceIndex("findPageByClassAndDateRange");
+
+        try (Stream<Attendance> rows = attendanceRepository.streamForExport(start, end, null, null)) {
+            rows.findFirst();
+        }
+        assertUsesAttendanceIndex("streamForExport");
+    }
+
+    @Test
+    void teacherJoinQueriesUseIndex() {
+        LocalDate end = start.plusDays(7);
+        attendanceRepository.findByTeacherIdAndDateBetween(1L, start, end);
+        assertUsesAttendanceIndex("findByTeacherIdAndDateBetween");
+
+        attendanceRepository.countByTeacherIdAndDateAndStatus(1L, start, Attendance.AttendanceStatus.PRESENT);
+        assertUsesAttendanceIndex("countByTeacherIdAndDateAndStatus");
+    }
+
+    @Test
+    void countAndSummaryQueriesUseIndex() {
+        LocalDate end = start.plusDays(7);
+        attendanceRepository.countByDateAndStatus(start, Attendance.AttendanceStatus.PRESENT);
+        assertUsesAttendanceIndex("countByDateAndStatus");
+
+        attendanceRepository.countByDateAndUpdatedAtAfter(start, LocalDateTime.now().minusHours(1));
+        assertUsesAttendanceIndex("countByDateAndUpdatedAtAfter");
+
+        attendanceRepository.getAttendanceSummaryByClassAndDateRange(1L, start, end);
+        assertUsesAttendanceIndex("getAttendanceSummaryByClassAndDateRange");
+
+        attendanceRepository.getAttendanceSummaryByStudentAndDateRange(100L, start, end);
+        assertUsesAttendanceIndex("getAttendanceSummaryByStudentAndDateRange");
+    }
+
+    // EXPLAIN every attendance statement the last repository call issued
+    private void assertUsesAttendanceIndex(String query) {
+        List<String> statements = CapturingStatementInspector.drain().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains("attendance"))
+                .toList();
+        assertFalse(statements.isEmpty(), query + " issued no attendance SQL");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            Matcher access = ATTENDANCE_ACCESS.matcher(plan);
+            assertTrue(access.find(), query + ": attendance table not found in plan\n" + plan);
+            String index = access.group(1).toUpperCase(Locale.ROOT);
+            assertTrue(index.startsWith("IDX_ATTENDANCE_") || index.startsWith("UK_ATTENDANCE_"),
+                    query + " reads attendance through " + index + " instead of an index\n" + plan);
+        }
+    }
+
+    // Parameters only need to be bound for EXPLAIN to run; the plan does not depend on them
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+        }, resultSet -> resultSet.next() ? resultSet.getString(1) : "");
+    }
+}
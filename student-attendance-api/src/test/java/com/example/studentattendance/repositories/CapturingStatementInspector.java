@@ -0,0 +1,24 @@
+package com.example.studentattendance.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Records the SQL Hibernate prepares on the current thread, so tests can inspect it
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static List<String> drain() {
+        List<String> statements = new ArrayList<>(STATEMENTS.get());
+        STATEMENTS.get().clear();
+        return statements;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.studentattendance.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.example.studentattendance.models.ScheduledReport;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks that a due job can be claimed once per trigger: instances polling the same row race on
+ * {@link ScheduledReportRepository#claimDue} and only the first update sees the old next run.
+ */
+@DataJpaTest
+class ScheduledReportRepositoryTest {
+
+    @Autowired
+    private ScheduledReportRepository scheduledReportRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void dueJobIsClaimedOnce() {
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        ScheduledReport job = scheduledReportRepository.saveAndFlush(job(dueAt));
+        entityManager.clear();
+
+        LocalDateTime nextRun = dueAt.plusDays(1);
+        assertEquals(1, scheduledReportRepository.claimDue(job.getId(), dueAt, nextRun));
+        assertEquals(0, scheduledReportRepository.claimDue(job.getId(), dueAt, nextRun));
+
+        ScheduledReport claimed = scheduledReportRepository.findById(job.getId()).orElseThrow();
+        assertEquals(nextRun, claimed.getNextRun());
+        assertEquals(ScheduledReport.JobStatus.QUEUED, claimed.getStatus());
+        assertEquals(job.getVersion() + 1, claimed.getVersion());
+    }
+
+    @Test
+    void cancelledJobIsNotClaimed() {
+        LocalDateTime dueAt = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        ScheduledReport job = scheduledReportRepository.saveAndFlush(job(dueAt));
+
+        assertEquals(1, scheduledReportRepository.cancel(job.getId()));
+        assertEquals(0, scheduledReportRepository.claimDue(job.getId(), dueAt, dueAt.plusDays(1)));
+        assertEquals(0, scheduledReportRepository.cancel(-1L));
+    }
+
+    private static ScheduledReport job(LocalDateTime nextRun) {
+        ScheduledReport job = new ScheduledReport();
+        job.setReportType("ATTENDANCE_SUMMARY");
+        job.setSchedule("0 0 6 * * *");
+        job.setParametersJson("{}");
+        job.setNextRun(nextRun);
+        job.setCreatedAt(LocalDateTime.now());
+        return job;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.studentattendance.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Exports a small and a ten times larger range and checks that the persistence context never
+ * holds more than one clear interval of rows (plus the students and class they reference),
+ * sampled on every write to the output. The retained heap (after a GC every few hundred KB of
+ * output) is compared too, but only logged: GC timing and JVM settings make it unreliable as a
+ * pass/fail signal. H2 is told to spill large results to disk so the database's own buffering
+ * does not show up as application heap.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:export_heap;MAX_MEMORY_ROWS=1000;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(AttendanceExportService.class)
+class AttendanceExportServiceHeapTest {
+
+    private static final int STUDENTS = 100;
+    private static final int SMALL_DAYS = 40;
+    private static final int LARGE_DAYS = 400;
+    private static final int SAMPLE_BYTES = 256 * 1024;
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceExportServiceHeapTest.class);
+
+    // One clear interval of attendance rows plus the students and the class they reference
+    private static final int MAX_MANAGED_ENTITIES = AttendanceExportService.CLEAR_INTERVAL + STUDENTS + 1;
+
+    // Retaining every row of the large export would cost tens of MB
+    private static final long MAX_RETAINED_GROWTH_BYTES = 8L * 1024 * 1024;
+
+    @Autowired
+    private AttendanceExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LocalDate start = LocalDate.now().minusDays(LARGE_DAYS);
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, first_name, last_name, role, "
+                + "is_active, created_at) VALUES (1, 'teacher', 'teacher@school.com', 'x', 'John', 'Smith', "
+                + "'TEACHER', TRUE, ?)", now);
+        List<Object[]> students = new ArrayList<>();
+        for (int s = 0; s < STUDENTS; s++) {
+            students.add(new Object[] { 100L + s, "student" + s, "student" + s + "@school.com", "No. " + s, now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, first_name, last_name, role, "
+                + "is_active, created_at) VALUES (?, ?, ?, 'x', 'Student', ?, 'STUDENT', TRUE, ?)", students);
+        jdbcTemplate.update("INSERT INTO classes (id, class_name, subject, teacher_id, schedule, is_active, created_at) "
+                + "VALUES (1, 'Mathematics 101', 'Math', 1, 'Mon', TRUE, ?)", now);
+
+        List<Object[]> rows = new ArrayList<>(STUDENTS * LARGE_DAYS);
+        long id = 1;
+        for (int d = 0; d < LARGE_DAYS; d++) {
+            for (int s = 0; s < STUDENTS; s++) {
+                rows.add(new Object[] { id++, 100L + s, Date.valueOf(start.plusDays(d)),
+                        d % 7 == 0 ? "ABSENT" : "PRESENT", now, now });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attendance (id, class_id, student_id, date, status, time_in, "
+                + "marked_by, created_at, updated_at, version) VALUES (?, 1, ?, ?, ?, '08:00:00', 'teacher', ?, ?, 0)",
+                rows);
+    }
+
+    @Test
+    void csvExportHeapStaysFlatAsRangeGrows() throws IOException {
+        assertFlatHeap(AttendanceExportService.FORMAT_CSV);
+    }
+
+    @Test
+    void ndjsonExportHeapStaysFlatAsRangeGrows() throws IOException {
+        assertFlatHeap(AttendanceExportService.FORMAT_NDJSON);
+    }
+
+    private void assertFlatHeap(String format) throws IOException {
+        Sample small = export(SMALL_DAYS, format);
+        Sample large = export(LARGE_DAYS, format);
+
+        assertEquals((long) STUDENTS * SMALL_DAYS, small.rows());
+        assertEquals((long) STUDENTS * LARGE_DAYS, large.rows());
+        // Without the periodic clear the large export would end with all 40,000 rows managed
+        assertTrue(small.maxManagedEntities() > 0, "no persistence context samples taken");
+        assertTrue(large.maxManagedEntities() <= MAX_MANAGED_ENTITIES,
+                "persistence context grew to " + large.maxManagedEntities() + " entities");
+
+        // Advisory only
+        long growth = large.maxRetainedGrowth() - small.maxRetainedGrowth();
+        if (growth >= MAX_RETAINED_GROWTH_BYTES) {
+            logger.warn("{} export: retained heap grew from {} to {} bytes for {}x the rows", format,
+                    small.maxRetainedGrowth(), large.maxRetainedGrowth(), LARGE_DAYS / SMALL_DAYS);
+        } else {
+            logger.info("{} export: retained heap growth {} bytes for {}x the rows", format, growth,
+                    LARGE_DAYS / SMALL_DAYS);
+        }
+    }
+
+    private Sample export(int days, String format) throws IOException {
+        entityManager.clear();
+        SamplingOutputStream out = new SamplingOutputStream();
+        long rows = exportService.exportAttendance(start, start.plusDays(days - 1L), null, null, format, out);
+        out.sampleHeap();
+        return new Sample(rows, out.maxRetained - out.baseline, out.maxManagedEntities);
+    }
+
+    private record Sample(long rows, long maxRetainedGrowth, int maxManagedEntities) {
+    }
+
+    // Discards the export, sampling persistence-context size on every write and live heap every SAMPLE_BYTES
+    private class SamplingOutputStream extends OutputStream {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long baseline = retainedHeap();
+        private long maxRetained = baseline;
+        private int maxManagedEntities;
+        private long sinceSample;
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+
+        private void count(int bytes) {
+            maxManagedEntities = Math.max(maxManagedEntities,
+                    entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            sinceSample += bytes;
+            if (sinceSample >= SAMPLE_BYTES) {
+                sinceSample = 0;
+                sampleHeap();
+            }
+        }
+
+        void sampleHeap() {
+            maxRetained = Math.max(maxRetained, retainedHeap());
+        }
+
+        private long retainedHeap() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
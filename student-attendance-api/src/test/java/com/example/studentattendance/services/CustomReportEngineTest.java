@@ -0,0 +1,163 @@
+package com.example.studentattendance.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.studentattendance.config.CacheConfig;
+import com.example.studentattendance.dto.ReportsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.persistence.TypedQuery;
+
+class CustomReportEngineTest {
+
+    private static final int MAX_ROWS = 10;
+    private static final int MAX_DAYS = 31;
+    private static final int TIMEOUT_MS = 250;
+
+    private CaffeineCacheManager cacheManager;
+    private EntityManager entityManager;
+    private TypedQuery<Object[]> query;
+    private CustomReportEngine engine;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(CacheConfig.REPORT_PLANS);
+        entityManager = mock(EntityManager.class);
+        query = mock(TypedQuery.class, RETURNS_SELF);
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+
+        engine = new CustomReportEngine();
+        ReflectionTestUtils.setField(engine, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(engine, "entityManager", entityManager);
+        ReflectionTestUtils.setField(engine, "maxRows", MAX_ROWS);
+        ReflectionTestUtils.setField(engine, "maxDays", MAX_DAYS);
+        ReflectionTestUtils.setField(engine, "timeoutMs", TIMEOUT_MS);
+        ReflectionTestUtils.invokeMethod(engine, "init");
+    }
+
+    @Test
+    void sameShapeReusesCompiledPlan() {
+        engine.run(request(1L, "PRESENT", "date,status"));
+        engine.run(request(2L, "ABSENT,LATE", "date,status"));
+
+        ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(2)).createQuery(jpql.capture(), eq(Object[].class));
+        assertEquals(jpql.getAllValues().get(0), jpql.getAllValues().get(1));
+        assertEquals(1, cachedPlans());
+        // Filter values are bound, never part of the cached text
+        assertTrue(jpql.getValue().contains(":classId") && jpql.getValue().contains(":statuses"));
+        verify(query).setParameter("classId", 1L);
+        verify(query).setParameter("classId", 2L);
+    }
+
+    @Test
+    void differentShapeCompilesNewPlan() {
+        engine.run(request(1L, "PRESENT", "date"));
+        engine.run(request(null, "PRESENT", "date"));
+        engine.run(request(1L, "PRESENT", "class"));
+
+        assertEquals(3, cachedPlans());
+    }
+
+    @Test
+    void resultIsCappedAtLimitAndMarkedTruncated() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i <= MAX_ROWS; i++) {
+            rows.add(new Object[] { LocalDate.now().minusDays(i), (long) i });
+        }
+        when(query.getResultList()).thenReturn(rows);
+
+        ReportsDto.CustomReportResponse response = engine.run(request(null, null, "date"));
+
+        verify(query).setMaxResults(MAX_ROWS + 1);
+        assertEquals(MAX_ROWS, response.getData().get("rowCount"));
+        assertEquals(true, response.getData().get("truncated"));
+    }
+
+    @Test
+    void requestedLimitIsBoundedByMaxRows() {
+        ReportsDto.CustomReportRequest request = request(null, null, "date");
+        request.getParameters().put("limit", 3);
+        engine.run(request);
+        verify(query).setMaxResults(4);
+
+        ReportsDto.CustomReportRequest tooLarge = request(null, null, "date");
+        tooLarge.getParameters().put("limit", MAX_ROWS + 1);
+        assertThrows(IllegalArgumentException.class, () -> engine.run(tooLarge));
+    }
+
+    @Test
+    void dateSpanIsBounded() {
+        ReportsDto.CustomReportRequest request = request(null, null, "date");
+        request.setStartDate(request.getEndDate().minusDays(MAX_DAYS));
+
+        assertThrows(IllegalArgumentException.class, () -> engine.run(request));
+        verify(entityManager, never()).createQuery(anyString(), eq(Object[].class));
+    }
+
+    @Test
+    void statementTimeoutIsSetAndReportedAsBadRequest() {
+        when(query.getResultList()).thenThrow(new QueryTimeoutException("timed out"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> engine.run(request(null, null, "date")));
+
+        verify(query).setHint("jakarta.persistence.query.timeout", TIMEOUT_MS);
+        assertTrue(error.getMessage().contains(TIMEOUT_MS + " ms"));
+    }
+
+    @Test
+    void unknownDimensionIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> engine.run(request(null, null, "date; DROP TABLE users")));
+    }
+
+    private long cachedPlans() {
+        Cache<Object, Object> plans = ((CaffeineCache) cacheManager.getCache(CacheConfig.REPORT_PLANS))
+                .getNativeCache();
+        plans.cleanUp();
+        return plans.estimatedSize();
+    }
+
+    private static ReportsDto.CustomReportRequest request(Long classId, String status, String groupBy) {
+        ReportsDto.CustomReportRequest request = new ReportsDto.CustomReportRequest();
+        request.setReportType("custom");
+        request.setEndDate(LocalDate.now());
+        request.setStartDate(LocalDate.now().minusDays(7));
+        request.setClassId(classId);
+        request.setMetrics(List.of("count", "present"));
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("groupBy", groupBy);
+        if (status != null) {
+            parameters.put("status", status);
+        }
+        request.setParameters(parameters);
+        return request;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.studentattendance.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Ranking and matching of {@link SearchIndex}: match kind times field weight decides the
+ * order, the bounded heap returns exactly the best {@code limit} ids, and substring matches
+ * come from trigram candidates that are checked against the query.
+ */
+class SearchIndexTest {
+
+    @Test
+    void ranksExactThenPrefixThenSubstring() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, "johnson", "", "");
+        index.put(2, "john", "", "");
+        index.put(3, "bjohn", "", "");
+
+        assertEquals(List.of(2L, 1L, 3L), index.search("john", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void earlierFieldsWeighMore() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, "alice", "", "smith");
+        index.put(2, "smith", "", "");
+        index.put(3, "bob", "smith", "");
+
+        assertEquals(List.of(2L, 3L, 1L), index.search("smith", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void limitKeepsTheBestMatchesInOrder() {
+        SearchIndex index = new SearchIndex();
+        index.replaceAll(Map.of(
+                10L, new String[] { "math", "", "" },
+                11L, new String[] { "mathematics", "", "" },
+                12L, new String[] { "", "math", "" },
+                13L, new String[] { "applied", "", "math" },
+                14L, new String[] { "aftermath", "", "" }));
+
+        // Scores: 10 exact/field 1 = 9, 11 prefix/field 1 = 6, 12 exact/field 2 = 6, 13 exact/field 3 = 3,
+        // 14 substring/field 1 = 3; equal scores go to the lower id
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L), index.search("math", Integer.MAX_VALUE));
+        assertEquals(List.of(10L, 11L, 12L), index.search("math", 3));
+        assertEquals(List.of(10L), index.search("math", 1));
+        assertEquals(List.of(), index.search("math", 0));
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, "jdoe", "John", "Doe");
+        index.put(2, "jsmith", "John", "Smith");
+
+        assertEquals(List.of(2L), index.search("john smi", 10));
+        assertEquals(List.of(), index.search("john brown", 10));
+    }
+
+    @Test
+    void substringMatchesAreCheckedAgainstTrigramCandidates() {
+        SearchIndex index = new SearchIndex();
+        // Has the trigrams of "abcd" (abc, bcd) but not the substring itself
+        index.put(1, "xabcxbcd", "", "");
+        index.put(2, "xabcd", "", "");
+
+        assertEquals(List.of(2L), index.search("abcd", 10));
+        assertEquals(List.of(), index.search("zzz", 10));
+    }
+
+    @Test
+    void shortQueriesMatchInsideTerms() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, "alice", "", "");
+        index.put(2, "bob", "", "");
+        index.put(3, "li", "", "");
+
+        assertEquals(List.of(3L, 1L), index.search("li", 10));
+        assertEquals(List.of(2L), index.search("o", 10));
+    }
+
+    @Test
+    void reindexingAndRemovalReplaceOldTerms() {
+        SearchIndex index = new SearchIndex();
+        index.put(1, "algebra", "", "");
+        index.put(1, "geometry", "", "");
+
+        assertEquals(List.of(), index.search("algebra", 10));
+        assertEquals(List.of(1L), index.search("geo", 10));
+
+        index.remove(1);
+        assertEquals(List.of(), index.search("geo", 10));
+        assertEquals(0, index.size());
+    }
+}